@@ -0,0 +1,80 @@
+package com.backend.datadrop.benchmarks;
+
+import com.backend.datadrop.dao.impl.UrlDaoImpl;
+import com.backend.datadrop.dao.impl.UserDaoImpl;
+import com.backend.datadrop.model.Url;
+import com.backend.datadrop.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row mapping cost of the URL and user DAOs against an in-memory H2 database in PostgreSQL mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoBenchmark {
+
+    private static final String[] FILE_TYPES = {"csv", "json", "xml", "pdf"};
+
+    @Param({"1000", "10000"})
+    int rows;
+
+    private SingleConnectionDataSource dataSource;
+    private UrlDaoImpl urlDao;
+    private UserDaoImpl userDao;
+    private String googleId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:datadrop-" + rows + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE", true);
+        // The application's own schema, so the tables always match what the DAOs expect
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        List<Object[]> urls = new ArrayList<>();
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            urls.add(new Object[]{"https://host" + i + ".example.com/data/*", FILE_TYPES[i % FILE_TYPES.length]});
+            users.add(new Object[]{"User " + i, "user" + i + "@example.com", "google-" + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO base_url (base_url, file_type) VALUES (?, ?)", urls);
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email, google_id) VALUES (?, ?, ?)", users);
+
+        urlDao = new UrlDaoImpl(jdbcTemplate);
+        userDao = new UserDaoImpl(jdbcTemplate);
+        googleId = "google-" + (rows / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public List<Url> getAllUrls() {
+        return urlDao.getAllUrls();
+    }
+
+    @Benchmark
+    public List<Url> findUrlPageByFileType() {
+        return urlDao.findPage(null, 100, "csv", null);
+    }
+
+    @Benchmark
+    public Optional<User> findUserByGoogleId() {
+        return userDao.findByGoogleId(googleId);
+    }
+}
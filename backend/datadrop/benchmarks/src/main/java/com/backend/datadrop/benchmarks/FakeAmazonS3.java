@@ -0,0 +1,84 @@
+package com.backend.datadrop.benchmarks;
+
+import com.amazonaws.services.s3.AbstractAmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for S3 that reads and discards object bodies, so upload benchmarks measure our
+ * side of the pipeline without network noise. Calls the uploader does not make throw
+ * {@link UnsupportedOperationException}.
+ */
+public class FakeAmazonS3 extends AbstractAmazonS3 {
+
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final byte[] sink = new byte[64 * 1024];
+
+    @Override
+    public PutObjectResult putObject(PutObjectRequest request) {
+        drain(request.getInputStream());
+        PutObjectResult result = new PutObjectResult();
+        result.setETag(UUID.randomUUID().toString());
+        return result;
+    }
+
+    @Override
+    public InitiateMultipartUploadResult initiateMultipartUpload(InitiateMultipartUploadRequest request) {
+        InitiateMultipartUploadResult result = new InitiateMultipartUploadResult();
+        result.setBucketName(request.getBucketName());
+        result.setKey(request.getKey());
+        result.setUploadId(UUID.randomUUID().toString());
+        return result;
+    }
+
+    @Override
+    public UploadPartResult uploadPart(UploadPartRequest request) {
+        drain(request.getInputStream());
+        UploadPartResult result = new UploadPartResult();
+        result.setPartNumber(request.getPartNumber());
+        result.setETag(UUID.randomUUID().toString());
+        return result;
+    }
+
+    @Override
+    public CompleteMultipartUploadResult completeMultipartUpload(CompleteMultipartUploadRequest request) {
+        CompleteMultipartUploadResult result = new CompleteMultipartUploadResult();
+        result.setBucketName(request.getBucketName());
+        result.setKey(request.getKey());
+        result.setETag(UUID.randomUUID() + "-" + request.getPartETags().size());
+        return result;
+    }
+
+    @Override
+    public void abortMultipartUpload(AbortMultipartUploadRequest request) {
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    // Benchmarks run single-threaded per fake, so the shared sink buffer is safe
+    private void drain(InputStream in) {
+        try (in) {
+            int n;
+            while ((n = in.read(sink)) != -1) {
+                bytesReceived.addAndGet(n);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
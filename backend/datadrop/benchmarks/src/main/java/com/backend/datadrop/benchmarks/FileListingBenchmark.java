@@ -0,0 +1,64 @@
+package com.backend.datadrop.benchmarks;
+
+import com.backend.datadrop.dto.FilePage;
+import com.backend.datadrop.model.FileMetadata;
+import com.backend.datadrop.service.FileCatalogService;
+import com.backend.datadrop.storage.S3StorageBackend;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization behind {@code GET /api/v1/files}: the streamed full listing and a single
+ * page, over an in-memory catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileListingBenchmark {
+
+    @Param({"1000", "100000"})
+    int files;
+
+    private ObjectMapper objectMapper;
+    private FileCatalogService fileCatalogService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryFileDao fileDao = new InMemoryFileDao();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < files; i++) {
+            FileMetadata file = new FileMetadata();
+            file.setKey(String.format("uploads/%08d/report.csv", i));
+            file.setStorageKey(file.getKey());
+            file.setSize(1024L * (i % 4096));
+            file.setStoredSize(file.getSize());
+            file.setCodec("identity");
+            file.setStorageClass("STANDARD");
+            file.setUpdatedAt(now.minusMinutes(i));
+            fileDao.save(file);
+        }
+        objectMapper = new ObjectMapper();
+        // Listing only reads the catalog; jobs and storage are never touched
+        fileCatalogService = new FileCatalogService(fileDao, InMemoryResourceVersionDao.versions(),
+                new S3StorageBackend(new FakeAmazonS3(), "benchmark", 0, 1), objectMapper, null, event -> { });
+    }
+
+    @Benchmark
+    public void writeFullListing() throws IOException {
+        fileCatalogService.writeJsonArray(null, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void writeFirstPage() throws IOException {
+        FilePage page = fileCatalogService.listPage(null, 1000, null);
+        objectMapper.writeValue(OutputStream.nullOutputStream(), page);
+    }
+}
@@ -0,0 +1,88 @@
+package com.backend.datadrop.benchmarks;
+
+import com.backend.datadrop.dao.UrlDao;
+import com.backend.datadrop.model.Url;
+import com.backend.datadrop.service.UrlService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-file checks of the upload endpoints: extension lookup against the rule table, as done by
+ * {@code FileController} before every upload, and matching a download URL against the rules.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileTypeValidationBenchmark {
+
+    private static final String[] FILE_TYPES = {"csv", "json", "xml", "pdf"};
+    private static final String[] FILENAMES = {"report.csv", "export.JSON", "feed.xml", "setup.exe", "notes"};
+
+    @Param({"100", "10000"})
+    int rules;
+
+    private UrlService urlService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Url> urls = new ArrayList<>();
+        for (int i = 0; i < rules; i++) {
+            Url url = new Url();
+            url.setId(i + 1);
+            url.setBaseUrl("https://host" + i + ".example.com/data/*");
+            url.setFile_type(FILE_TYPES[i % FILE_TYPES.length]);
+            urls.add(url);
+        }
+        urlService = new UrlService(new FixedUrlDao(urls), InMemoryResourceVersionDao.versions(), event -> { }, 1000);
+        urlService.getAll(); // load the rule index outside the measurement
+    }
+
+    @Benchmark
+    public void validateFileTypes(Blackhole blackhole) {
+        for (String filename : FILENAMES) {
+            String extension = filename.contains(".") ? filename.substring(filename.lastIndexOf('.') + 1) : "";
+            blackhole.consume(urlService.isFileTypeAllowed(extension));
+        }
+    }
+
+    @Benchmark
+    public List<Url> matchUrl() {
+        return urlService.match("https://host" + (rules / 2) + ".example.com/data/2024/report.csv");
+    }
+
+    private record FixedUrlDao(List<Url> urls) implements UrlDao {
+
+        @Override
+        public List<Url> getAllUrls() {
+            return urls;
+        }
+
+        @Override
+        public Url getUrlById(long id) {
+            return urls.get((int) id - 1);
+        }
+
+        @Override
+        public List<Url> findPage(Long afterId, int limit, String fileType, String hostPrefix) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Url saveUrl(Url url) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int saveAll(Collection<Url> batch, int batchSize) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
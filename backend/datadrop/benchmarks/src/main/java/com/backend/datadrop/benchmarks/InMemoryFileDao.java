@@ -0,0 +1,80 @@
+package com.backend.datadrop.benchmarks;
+
+import com.backend.datadrop.dao.FileDao;
+import com.backend.datadrop.model.FileMetadata;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * File catalog kept in a sorted map, so listing and upload benchmarks need no database.
+ * Content hashes are never matched, so every upload is treated as new content.
+ */
+public class InMemoryFileDao implements FileDao {
+
+    private final NavigableMap<String, FileMetadata> files = new ConcurrentSkipListMap<>();
+    private final Set<String> reservedKeys = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public List<FileMetadata> findPage(String prefix, String afterKey, int limit) {
+        NavigableMap<String, FileMetadata> tail = afterKey != null ? files.tailMap(afterKey, false) : files;
+        return tail.values().stream()
+                .filter(file -> prefix == null || file.getKey().startsWith(prefix))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public Optional<FileMetadata> findByKey(String key) {
+        return Optional.ofNullable(files.get(key));
+    }
+
+    @Override
+    public boolean isKeyTaken(String key) {
+        return files.containsKey(key) || reservedKeys.contains(key);
+    }
+
+    @Override
+    public boolean reserveKey(String key, Duration ttl) {
+        return !files.containsKey(key) && reservedKeys.add(key);
+    }
+
+    @Override
+    public void releaseKey(String key) {
+        reservedKeys.remove(key);
+    }
+
+    @Override
+    public Optional<FileMetadata> findByContentHash(String contentHash) {
+        return Optional.empty();
+    }
+
+    @Override
+    public FileMetadata save(FileMetadata file) {
+        files.put(file.getKey(), file);
+        reservedKeys.remove(file.getKey());
+        return file;
+    }
+
+    @Override
+    public int saveVerified(List<FileMetadata> batch, LocalDateTime verifiedAt) {
+        batch.forEach(this::save);
+        return batch.size();
+    }
+
+    @Override
+    public int deleteNotVerifiedSince(LocalDateTime verifiedAt) {
+        return 0;
+    }
+
+    @Override
+    public LocalDateTime now() {
+        return LocalDateTime.now();
+    }
+}
@@ -0,0 +1,30 @@
+package com.backend.datadrop.benchmarks;
+
+import com.backend.datadrop.dao.ResourceVersionDao;
+import com.backend.datadrop.service.ResourceVersions;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resource versions kept in a map, so services that tag their responses need no database.
+ */
+public class InMemoryResourceVersionDao implements ResourceVersionDao {
+
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    public static ResourceVersions versions() {
+        return new ResourceVersions(new InMemoryResourceVersionDao(), Duration.ofSeconds(2));
+    }
+
+    @Override
+    public long get(String resource) {
+        return versions.getOrDefault(resource, 0L);
+    }
+
+    @Override
+    public long bump(String resource) {
+        return versions.merge(resource, 1L, Long::sum);
+    }
+}
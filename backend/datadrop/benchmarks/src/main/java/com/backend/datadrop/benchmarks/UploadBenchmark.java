@@ -0,0 +1,85 @@
+package com.backend.datadrop.benchmarks;
+
+import com.backend.datadrop.dto.UploadResult;
+import com.backend.datadrop.metrics.UploadMetrics;
+import com.backend.datadrop.service.UploadService;
+import com.backend.datadrop.storage.CompressionPolicy;
+import com.backend.datadrop.storage.LocalStorageBackend;
+import com.backend.datadrop.storage.S3StorageBackend;
+import com.backend.datadrop.storage.StorageBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end {@link UploadService#upload} throughput (hashing, optional compression, storage writes)
+ * against {@link FakeAmazonS3} or the local filesystem backend in a temp directory. Divide the payload
+ * size by the score for bytes per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UploadBenchmark {
+
+    @Param({"65536", "16777216"})
+    int size;
+
+    @Param({"none", "gzip", "zstd"})
+    String codec;
+
+    @Param({"s3", "local"})
+    String backend;
+
+    private byte[] payload;
+    private UploadService uploadService;
+    private Path root;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        StringBuilder csv = new StringBuilder(size + 64);
+        csv.append("id,region,amount,created_at\n");
+        for (int i = 0; csv.length() < size; i++) {
+            csv.append(i).append(i % 3 == 0 ? ",east," : ",west,").append(i * 7 % 1000).append(".50,2024-01-01\n");
+        }
+        payload = csv.substring(0, size).getBytes(StandardCharsets.UTF_8);
+
+        StorageBackend storage;
+        if (backend.equals("local")) {
+            root = Files.createTempDirectory("datadrop-bench");
+            storage = new LocalStorageBackend(root.toString());
+        } else {
+            storage = new S3StorageBackend(new FakeAmazonS3(), "benchmark", 8 * 1024 * 1024, 4);
+        }
+        uploadService = new UploadService(storage, new InMemoryFileDao(),
+                new CompressionPolicy(codec, "csv"), new UploadMetrics(new SimpleMeterRegistry()), Duration.ofHours(24));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (root != null) {
+            try (Stream<Path> paths = Files.walk(root)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public UploadResult upload() throws IOException {
+        return uploadService.upload("upload-" + sequence++ + ".csv", new ByteArrayInputStream(payload), "text/csv");
+    }
+}
@@ -1,31 +1,79 @@
 package com.backend.datadrop;
 
+import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
-import com.amazonaws.regions.Regions;
+import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
+import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.backend.datadrop.metrics.S3MetricsHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
 
 @Configuration
+@ConditionalOnProperty(name = "datadrop.storage.backend", havingValue = "s3", matchIfMissing = true)
 public class AmazonS3Config {
-    @Value("${amazon.access.key}")
+    private static final Logger log = LoggerFactory.getLogger(AmazonS3Config.class);
+
+    @Value("${amazon.access.key:}")
     String accessKeyId;
-    @Value("${amazon.secret.key}")
+    @Value("${amazon.secret.key:}")
     String accessKeySecret;
+    @Value("${amazon.region:us-east-1}")
+    String region;
+    // S3-compatible stores such as MinIO or LocalStack
+    @Value("${amazon.endpoint:}")
+    String endpoint;
+    @Value("${datadrop.storage.s3.warm-up:true}")
+    boolean warmUp;
 
 
+    // Building the SDK client is a large part of startup, so it is only built when first used
     @Bean
-    public AmazonS3 s3client() {
-        BasicAWSCredentials basicAWSCredentials = new BasicAWSCredentials(accessKeyId, accessKeySecret);
-        AmazonS3 s3clientbuilder = AmazonS3ClientBuilder
+    @Lazy
+    public AmazonS3 s3client(MeterRegistry meterRegistry) {
+        AmazonS3ClientBuilder builder = AmazonS3ClientBuilder
                 .standard()
-                .withRegion(Regions.US_EAST_1)
-                .withCredentials(new AWSStaticCredentialsProvider(basicAWSCredentials))
-                .build();
-        return s3clientbuilder;
+                .withCredentials(credentials())
+                .withRequestHandlers(new S3MetricsHandler(meterRegistry));
+        if (endpoint.isBlank()) {
+            builder.withRegion(region);
+        } else {
+            builder.withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint, region))
+                    .withPathStyleAccessEnabled(true);
+        }
+        return builder.build();
+    }
+
+    // Builds the client in the background once the application is up, so the first upload does not pay for it either
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp(ApplicationReadyEvent event) {
+        if (!warmUp) {
+            return;
+        }
+        Thread.ofVirtual().name("s3-client-warm-up").start(() -> {
+            try {
+                event.getApplicationContext().getBean(AmazonS3.class);
+            } catch (RuntimeException e) {
+                log.warn("Failed to build the S3 client, it is built again on first use", e);
+            }
+        });
+    }
 
+    // Without static keys the default chain applies (environment, profile, instance role)
+    private AWSCredentialsProvider credentials() {
+        if (accessKeyId.isBlank() || accessKeySecret.isBlank()) {
+            return DefaultAWSCredentialsProviderChain.getInstance();
+        }
+        return new AWSStaticCredentialsProvider(new BasicAWSCredentials(accessKeyId, accessKeySecret));
     }
 }
@@ -2,12 +2,25 @@ package com.backend.datadrop;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Map;
 
 @SpringBootApplication
+@EnableScheduling
 public class DatadropApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(DatadropApplication.class, args);
+        SpringApplication application = new SpringApplication(DatadropApplication.class);
+        application.setDefaultProperties(Map.of(
+                // DDL that only Postgres understands runs after the portable schema; tests on H2 load schema.sql alone
+                "spring.sql.init.schema-locations", "classpath:schema.sql,classpath:schema-postgresql.sql",
+                // Spring's scheduler has one thread by default, so a long catalog reconcile would hold up
+                // job polling, lock renewal, SSE heartbeats and the other periodic tasks
+                "spring.task.scheduling.pool.size", "4",
+                // Admission control keys anonymous callers by address; behind a proxy that must be the client's
+                "server.forward-headers-strategy", "native"));
+        application.run(args);
     }
 
 }
@@ -0,0 +1,254 @@
+package com.backend.datadrop.admission;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decides whether an upload may start. A request holds a {@link Permit} for its whole duration and is
+ * charged one slot plus its declared size against a global and a per-user budget. Sizes are capped at
+ * the smaller budget, so an upload larger than that waits until it has a whole budget to itself.
+ * <p>
+ * A user over their own budget is turned away at once. A request that only lacks global capacity
+ * waits in a bounded first-come-first-served queue for at most {@code max-wait}; queued requests
+ * already count against their user, so a single user cannot fill the queue.
+ */
+@Component
+public class AdmissionController {
+
+    public static final String USER_LIMIT = "user_limit";
+    public static final String QUEUE_FULL = "queue_full";
+    public static final String TIMEOUT = "timeout";
+    public static final List<String> REASONS = List.of(USER_LIMIT, QUEUE_FULL, TIMEOUT);
+
+    private static final long MAX_RETRY_AFTER_SECONDS = 60;
+    private static final double HOLD_TIME_WEIGHT = 0.2;
+
+    private final int maxInFlight;
+    private final long maxBytes;
+    private final int maxInFlightPerUser;
+    private final long maxBytesPerUser;
+    private final int maxQueued;
+    private final Duration maxWait;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final ArrayDeque<Object> queue = new ArrayDeque<>();
+    private final Map<String, Usage> users = new HashMap<>();
+    private int inFlight;
+    private long bytesInFlight;
+    // Moving average of how long a permit is held; Retry-After is derived from it
+    private double averageHoldNanos = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong waited = new AtomicLong();
+    private final Map<String, AtomicLong> rejections = new HashMap<>();
+
+    public AdmissionController(@Value("${datadrop.admission.max-in-flight:32}") int maxInFlight,
+                               @Value("${datadrop.admission.max-in-flight-bytes:1073741824}") long maxBytes,
+                               @Value("${datadrop.admission.per-user.max-in-flight:4}") int maxInFlightPerUser,
+                               @Value("${datadrop.admission.per-user.max-in-flight-bytes:268435456}") long maxBytesPerUser,
+                               @Value("${datadrop.admission.max-queued:64}") int maxQueued,
+                               @Value("${datadrop.admission.max-wait:PT10S}") Duration maxWait) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.maxBytes = Math.max(1, maxBytes);
+        this.maxInFlightPerUser = Math.max(1, maxInFlightPerUser);
+        this.maxBytesPerUser = Math.max(1, maxBytesPerUser);
+        this.maxQueued = Math.max(0, maxQueued);
+        this.maxWait = maxWait;
+        REASONS.forEach(reason -> rejections.put(reason, new AtomicLong()));
+    }
+
+    /**
+     * Admits a request of {@code bytes} for {@code user}, waiting for global capacity if needed.
+     *
+     * @throws AdmissionRejectedException if the user is over their budget, the queue is full or the
+     *                                    wait timed out
+     */
+    public Permit acquire(String user, long requestedBytes) throws AdmissionRejectedException, InterruptedException {
+        long bytes = Math.min(requestedBytes, Math.min(maxBytes, maxBytesPerUser));
+        lock.lock();
+        try {
+            Usage usage = users.computeIfAbsent(user, key -> new Usage());
+            if (usage.requests >= maxInFlightPerUser || usage.bytes + bytes > maxBytesPerUser) {
+                removeIfIdle(user, usage);
+                throw reject(USER_LIMIT, "Too many uploads in progress for " + user, retryAfterSeconds());
+            }
+            if (queue.isEmpty() && fits(bytes)) {
+                usage.add(bytes);
+                return admit(user, bytes);
+            }
+            if (queue.size() >= maxQueued) {
+                removeIfIdle(user, usage);
+                throw reject(QUEUE_FULL, "Too many uploads waiting, try again later", retryAfterSeconds());
+            }
+
+            usage.add(bytes);
+            Object ticket = new Object();
+            queue.addLast(ticket);
+            waited.incrementAndGet();
+            long nanos = maxWait.toNanos();
+            try {
+                while (queue.peekFirst() != ticket || !fits(bytes)) {
+                    if (nanos <= 0) {
+                        leave(ticket, user, usage, bytes);
+                        throw reject(TIMEOUT, "Timed out waiting for upload capacity", retryAfterSeconds());
+                    }
+                    nanos = released.awaitNanos(nanos);
+                }
+            } catch (InterruptedException e) {
+                leave(ticket, user, usage, bytes);
+                throw e;
+            }
+            queue.removeFirst();
+            Permit permit = admit(user, bytes);
+            // The next request in line may fit as well
+            released.signalAll();
+            return permit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getBytesInFlight() {
+        lock.lock();
+        try {
+            return bytesInFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getAdmitted() {
+        return admitted.get();
+    }
+
+    public long getWaited() {
+        return waited.get();
+    }
+
+    public long getRejections(String reason) {
+        return rejections.get(reason).get();
+    }
+
+    private boolean fits(long bytes) {
+        return inFlight < maxInFlight && bytesInFlight + bytes <= maxBytes;
+    }
+
+    private Permit admit(String user, long bytes) {
+        inFlight++;
+        bytesInFlight += bytes;
+        admitted.incrementAndGet();
+        return new Permit(user, bytes);
+    }
+
+    private void leave(Object ticket, String user, Usage usage, long bytes) {
+        queue.remove(ticket);
+        usage.remove(bytes);
+        removeIfIdle(user, usage);
+        // The request behind this one may be at the head of the queue now
+        released.signalAll();
+    }
+
+    private void release(Permit permit, long heldNanos) {
+        lock.lock();
+        try {
+            inFlight--;
+            bytesInFlight -= permit.bytes;
+            Usage usage = users.get(permit.user);
+            if (usage != null) {
+                usage.remove(permit.bytes);
+                removeIfIdle(permit.user, usage);
+            }
+            averageHoldNanos += HOLD_TIME_WEIGHT * (heldNanos - averageHoldNanos);
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeIfIdle(String user, Usage usage) {
+        if (usage.requests == 0) {
+            users.remove(user);
+        }
+    }
+
+    // Roughly how long until the requests ahead have drained, at the current hold times
+    private long retryAfterSeconds() {
+        double rounds = 1 + (double) queue.size() / maxInFlight;
+        long seconds = (long) Math.ceil(averageHoldNanos * rounds / TimeUnit.SECONDS.toNanos(1));
+        return Math.max(1, Math.min(MAX_RETRY_AFTER_SECONDS, seconds));
+    }
+
+    private AdmissionRejectedException reject(String reason, String message, long retryAfterSeconds) {
+        rejections.get(reason).incrementAndGet();
+        return new AdmissionRejectedException(reason, message, retryAfterSeconds);
+    }
+
+    private static final class Usage {
+        private int requests;
+        private long bytes;
+
+        void add(long bytes) {
+            this.requests++;
+            this.bytes += bytes;
+        }
+
+        void remove(long bytes) {
+            this.requests--;
+            this.bytes -= bytes;
+        }
+    }
+
+    /**
+     * An admitted request's share of the budgets, returned by {@link #close()}.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final String user;
+        private final long bytes;
+        private final long admittedAt = System.nanoTime();
+        private boolean closed;
+
+        private Permit(String user, long bytes) {
+            this.user = user;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            release(this, System.nanoTime() - admittedAt);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.backend.datadrop.admission;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs upload and processing requests through the {@link AdmissionController} before their body is
+ * read, so rejected requests cost neither multipart parsing nor temp files. Rejections are answered
+ * with {@code 429} and {@code Retry-After}. Requests are accounted to the authenticated user, then to
+ * the value of {@code datadrop.admission.caller-header} when one is configured and present, and
+ * otherwise to the client address.
+ * <p>
+ * Behind a reverse proxy every request comes from the proxy's address, so all anonymous clients would
+ * share one quota. The application therefore defaults {@code server.forward-headers-strategy} to
+ * {@code native}, which takes the client address from {@code X-Forwarded-For} when the request
+ * comes from a private-network proxy. A caller header must be one the proxy sets and strips from
+ * incoming requests, or clients can pick their own key.
+ */
+@Component
+@ConditionalOnProperty(name = "datadrop.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private final AdmissionController admissionController;
+    private final List<String> paths;
+    private final long unknownLengthBytes;
+    private final String callerHeader;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    public AdmissionFilter(AdmissionController admissionController,
+                           @Value("${datadrop.admission.paths:/api/v1/files/upload/**,/api/v1/files/uploads/**,/api/v1/jobs/transform,/api/v1/url/bulk}") String paths,
+                           @Value("${datadrop.admission.unknown-length-bytes:67108864}") long unknownLengthBytes,
+                           @Value("${datadrop.admission.caller-header:}") String callerHeader) {
+        this.admissionController = admissionController;
+        this.paths = Arrays.stream(paths.split(",")).map(String::trim).filter(path -> !path.isEmpty()).toList();
+        this.unknownLengthBytes = unknownLengthBytes;
+        this.callerHeader = callerHeader.isBlank() ? null : callerHeader.trim();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (HttpMethod.GET.matches(request.getMethod()) || HttpMethod.OPTIONS.matches(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return paths.stream().noneMatch(pattern -> matcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // Chunked bodies have no declared size and are charged a fixed amount instead
+        long length = request.getContentLengthLong();
+        AdmissionController.Permit permit;
+        try {
+            permit = admissionController.acquire(userOf(request), length >= 0 ? length : unknownLengthBytes);
+        } catch (AdmissionRejectedException e) {
+            reject(response, e);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        try (permit) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private static void reject(HttpServletResponse response, AdmissionRejectedException e) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()));
+        // The unread body is not drained; closing the connection tells the client to stop sending it
+        response.setHeader(HttpHeaders.CONNECTION, "close");
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(e.getMessage());
+    }
+
+    // Client-supplied identifiers such as the owner parameter are not trusted here
+    String userOf(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "user:" + principal.getName();
+        }
+        String caller = callerHeader != null ? request.getHeader(callerHeader) : null;
+        return caller != null && !caller.isBlank() ? "caller:" + caller.trim() : "addr:" + request.getRemoteAddr();
+    }
+}
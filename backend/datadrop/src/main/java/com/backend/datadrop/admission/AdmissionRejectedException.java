@@ -0,0 +1,25 @@
+package com.backend.datadrop.admission;
+
+/**
+ * Thrown when a request is not admitted. {@link #getRetryAfterSeconds()} is 0 for requests that
+ * can never be admitted because they exceed a byte budget on their own.
+ */
+public class AdmissionRejectedException extends Exception {
+
+    private final String reason;
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(String reason, String message, long retryAfterSeconds) {
+        super(message);
+        this.reason = reason;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
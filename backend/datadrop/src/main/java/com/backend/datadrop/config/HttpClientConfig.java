@@ -0,0 +1,20 @@
+package com.backend.datadrop.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+public class HttpClientConfig {
+
+    // One client for all outbound calls, so connections to Google are pooled and reused
+    @Bean
+    public HttpClient httpClient(@Value("${datadrop.http.connect-timeout:PT5S}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+}
@@ -1,94 +1,482 @@
 package com.backend.datadrop.controller;
 
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.ListObjectsV2Result;
-import com.amazonaws.services.s3.model.S3ObjectSummary;
-import com.backend.datadrop.model.Url;
+import com.backend.datadrop.dto.FileUploadStatus;
+import com.backend.datadrop.dto.PresignUploadRequest;
+import com.backend.datadrop.dto.PresignedUrl;
+import com.backend.datadrop.dto.RecordedUpload;
+import com.backend.datadrop.dto.ResumableUploadRequest;
+import com.backend.datadrop.dto.UploadCompletion;
+import com.backend.datadrop.dto.UploadResult;
+import com.backend.datadrop.service.BatchUploadService;
+import com.backend.datadrop.service.DownloadService;
+import com.backend.datadrop.service.FileCatalogService;
+import com.backend.datadrop.service.PresignService;
+import com.backend.datadrop.service.ResumableUploadService;
+import com.backend.datadrop.service.UploadService;
 import com.backend.datadrop.service.UrlService;
-import org.springframework.beans.factory.annotation.Value;
+import com.backend.datadrop.storage.ObjectContent;
+import com.backend.datadrop.storage.ObjectInfo;
+import com.backend.datadrop.storage.ObjectNotFoundException;
+import com.backend.datadrop.storage.StorageBackend;
+import com.backend.datadrop.storage.StorageCodec;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/files")
 public class FileController {
 
-    private final AmazonS3 s3client;
+    // Tomcat request attributes that hand a file to the connector's sendfile support
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final UrlService urlService;
+    private final UploadService uploadService;
+    private final FileCatalogService fileCatalogService;
+    private final BatchUploadService batchUploadService;
+    private final DownloadService downloadService;
+    private final PresignService presignService;
+    private final ResumableUploadService resumableUploadService;
+    private final StorageBackend storage;
 
-    public FileController(AmazonS3 s3client, UrlService urlService) {
-        this.s3client = s3client;
+    public FileController(UrlService urlService, UploadService uploadService,
+                          FileCatalogService fileCatalogService, BatchUploadService batchUploadService,
+                          DownloadService downloadService, PresignService presignService,
+                          ResumableUploadService resumableUploadService, StorageBackend storage) {
         this.urlService = urlService;
+        this.uploadService = uploadService;
+        this.fileCatalogService = fileCatalogService;
+        this.batchUploadService = batchUploadService;
+        this.downloadService = downloadService;
+        this.presignService = presignService;
+        this.resumableUploadService = resumableUploadService;
+        this.storage = storage;
     }
 
-    @Value("${amazon.bucket.name}")
-    String bucket_name;
-
     @PostMapping("/upload")
-    public ResponseEntity<?> uploadFile(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<?> uploadFile(@RequestParam("file") MultipartFile file,
+                                        @RequestParam(value = "owner", required = false) String owner) {
         if (file.isEmpty()) {
             return new ResponseEntity<>("No file uploaded", HttpStatus.BAD_REQUEST);
         }
 
         String originalFilename = file.getOriginalFilename();
-        String extension = (originalFilename != null && originalFilename.contains(".")) ?
-                originalFilename.substring(originalFilename.lastIndexOf(".") + 1) : "";
+        String extension = UploadService.extensionOf(originalFilename);
 
         // ✅ Optional: Validate file type against DB entries
-        boolean allowed = urlService.getAll().stream()
-                .anyMatch(u -> u.getFile_type().equalsIgnoreCase(extension));
-
-        if (!allowed) {
+        if (!isAllowed(extension)) {
             return new ResponseEntity<>("Invalid file type: " + extension, HttpStatus.BAD_REQUEST);
         }
 
+        UploadResult result;
+        RecordedUpload recorded;
         try {
-            // ✅ Upload file to S3
-            File tempFile = File.createTempFile("upload-", originalFilename);
-            file.transferTo(tempFile);
+            // ✅ Stream file to storage and record it in the catalog
+            result = uploadService.upload(originalFilename, file.getInputStream(), file.getContentType());
+            recorded = fileCatalogService.recordAndEnqueue(result, file.getContentType(), owner);
+        } catch (Exception e) {
+            return new ResponseEntity<>("File upload failed: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        return new ResponseEntity<>(uploadResponse(result, recorded), HttpStatus.OK);
+    }
+
+    // Raw request body upload: bytes go from the socket into storage without multipart parsing
+    @PostMapping("/upload/stream")
+    public ResponseEntity<?> uploadStream(@RequestParam("filename") String filename,
+                                          @RequestParam(value = "owner", required = false) String owner,
+                                          HttpServletRequest request) {
+        String extension = UploadService.extensionOf(filename);
+        if (!isAllowed(extension)) {
+            return new ResponseEntity<>("Invalid file type: " + extension, HttpStatus.BAD_REQUEST);
+        }
 
-            s3client.putObject(bucket_name, originalFilename, tempFile);
-            tempFile.delete();
+        UploadResult result;
+        RecordedUpload recorded;
+        try {
+            result = uploadService.upload(filename, request.getInputStream(), request.getContentType());
+            recorded = fileCatalogService.recordAndEnqueue(result, request.getContentType(), owner);
         } catch (Exception e) {
             return new ResponseEntity<>("File upload failed: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
 
-        // ✅ Fetch all files from S3
-        ListObjectsV2Result result = s3client.listObjectsV2(bucket_name);
-        List<String> allFiles = result.getObjectSummaries()
-                .stream()
-                .map(S3ObjectSummary::getKey)
-                .collect(Collectors.toList());
+        return new ResponseEntity<>(uploadResponse(result, recorded), HttpStatus.OK);
+    }
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("uploadedFile", originalFilename);
-        response.put("bucket", bucket_name);
-        response.put("allFiles", allFiles);
-        response.put("message", "File uploaded successfully");
+    // Accepts any number of file parts, whatever their field names, and reports the outcome per file
+    @PostMapping("/upload/batch")
+    public ResponseEntity<?> uploadBatch(MultipartHttpServletRequest request,
+                                         @RequestParam(value = "owner", required = false) String owner) {
+        List<MultipartFile> files = request.getMultiFileMap().values().stream()
+                .flatMap(List::stream)
+                .toList();
+        if (files.isEmpty()) {
+            return new ResponseEntity<>("No file uploaded", HttpStatus.BAD_REQUEST);
+        }
+
+        List<FileUploadStatus> results = batchUploadService.uploadAll(files, owner);
+        long uploaded = results.stream().filter(FileUploadStatus::uploaded).count();
 
+        Map<String, Object> response = new HashMap<>();
+        response.put("bucket", storage.getLocation());
+        response.put("uploaded", uploaded);
+        response.put("failed", results.size() - uploaded);
+        response.put("results", results);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    // Without limit/continuationToken the whole listing is streamed as a JSON array page by page
     @GetMapping
-    public ResponseEntity<?> getProcessedFiles() {
-        ListObjectsV2Result result = s3client.listObjectsV2(bucket_name);
-        List<S3ObjectSummary> objects = result.getObjectSummaries();
-
-        List<Map<String, Object>> files = objects.stream().map(obj -> {
-            Map<String, Object> fileInfo = new HashMap<>();
-            fileInfo.put("key", obj.getKey());
-            fileInfo.put("size", obj.getSize());
-            fileInfo.put("lastModified", obj.getLastModified());
-            fileInfo.put("storageClass", obj.getStorageClass());
-            return fileInfo;
-        }).collect(Collectors.toList());
-
-        return ResponseEntity.ok(files);
+    public ResponseEntity<?> getProcessedFiles(@RequestParam(value = "limit", required = false) Integer limit,
+                                               @RequestParam(value = "continuationToken", required = false) String continuationToken,
+                                               @RequestParam(value = "prefix", required = false) String prefix,
+                                               ServletWebRequest request) {
+        // Answered without touching Postgres while the catalog version is unchanged
+        String eTag = fileCatalogService.getGenerationTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        if (limit != null || continuationToken != null) {
+            try {
+                return ResponseEntity.ok()
+                        .cacheControl(CacheControl.noCache())
+                        .eTag(eTag)
+                        .body(fileCatalogService.listPage(prefix, limit, continuationToken));
+            } catch (IllegalArgumentException e) {
+                return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+            }
+        }
+
+        StreamingResponseBody body = out -> fileCatalogService.writeJsonArray(prefix, out);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    // {*key} captures the rest of the path so keys containing '/' can be downloaded too
+    @GetMapping("/download/{*key}")
+    public ResponseEntity<?> downloadFile(@PathVariable("key") String key,
+                                          @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                          @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                          ServletWebRequest request) {
+        key = key.startsWith("/") ? key.substring(1) : key;
+        String storageKey = fileCatalogService.resolveStorageKey(key);
+
+        ObjectInfo metadata;
+        try {
+            metadata = downloadService.stat(storageKey);
+        } catch (ObjectNotFoundException e) {
+            return new ResponseEntity<>("File not found: " + key, HttpStatus.NOT_FOUND);
+        }
+
+        // Compressed objects go out as stored when the client accepts the coding, otherwise they are
+        // decoded on the fly. The decoded body is a different representation and gets its own ETag.
+        StorageCodec codec = StorageCodec.fromContentEncoding(metadata.contentEncoding());
+        boolean decode = codec != StorageCodec.IDENTITY && !acceptsEncoding(acceptEncoding, codec.getName());
+        String eTag = decode
+                ? "\"" + metadata.eTag() + "-" + StorageCodec.IDENTITY.getName() + "\""
+                : "\"" + metadata.eTag() + "\"";
+        long lastModified = metadata.lastModified() != null ? metadata.lastModified().toEpochMilli() : -1;
+        if (codec != StorageCodec.IDENTITY) {
+            // Set on the servlet response so that every answer from here on carries it, 304 included
+            request.getResponse().setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (request.checkNotModified(eTag, lastModified)) {
+            return null;
+        }
+
+        long length = metadata.size();
+        long start = 0;
+        long end = length - 1;
+        boolean partial = false;
+        // Ranges of a decoded body cannot be mapped onto the stored bytes, so those are served whole
+        if (range != null && !decode && length > 0 && ifRangeMatches(ifRange, eTag, lastModified)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of(); // malformed Range headers are ignored
+            }
+            // Multi-range requests are answered with the full body
+            if (ranges.size() == 1) {
+                try {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    partial = true;
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                            .build();
+                }
+            }
+        }
+
+        ObjectContent content = downloadService.open(storageKey, start, partial ? end : -1);
+        StreamingResponseBody body = out -> downloadService.copy(content, out, decode);
+
+        String filename = key.substring(key.lastIndexOf('/') + 1);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(partial ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .contentType(metadata.contentType() != null
+                        ? MediaType.parseMediaType(metadata.contentType())
+                        : MediaType.APPLICATION_OCTET_STREAM)
+                .eTag(eTag)
+                .lastModified(lastModified)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename, StandardCharsets.UTF_8).build().toString());
+        if (decode) {
+            // The original size is only known to the catalog
+            fileCatalogService.find(key).ifPresent(file -> response.contentLength(file.getSize()));
+            return response.body(body);
+        }
+
+        response.contentLength(end - start + 1)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (codec != StorageCodec.IDENTITY) {
+            response.header(HttpHeaders.CONTENT_ENCODING, codec.getName());
+        }
+        if (partial) {
+            response.header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        if (sendfile(request.getRequest(), content)) {
+            // The container copies the file to the socket itself once the headers are out
+            return response.build();
+        }
+        return response.body(body);
+    }
+
+    @PostMapping("/presign/upload")
+    public ResponseEntity<?> presignUpload(@RequestBody PresignUploadRequest presignRequest) {
+        String filename = presignRequest.filename();
+        if (filename == null || filename.isBlank()) {
+            return new ResponseEntity<>("No file name given", HttpStatus.BAD_REQUEST);
+        }
+
+        String extension = UploadService.extensionOf(filename);
+        if (!isAllowed(extension)) {
+            return new ResponseEntity<>("Invalid file type: " + extension, HttpStatus.BAD_REQUEST);
+        }
+
+        try {
+            return new ResponseEntity<>(presignService.presignUpload(filename, presignRequest.contentType()), HttpStatus.OK);
+        } catch (UnsupportedOperationException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_IMPLEMENTED);
+        }
+    }
+
+    @PostMapping("/presign/complete")
+    public ResponseEntity<?> completePresignedUpload(@RequestBody UploadCompletion completion) {
+        if (completion.key() == null || !isAllowed(UploadService.extensionOf(completion.key()))) {
+            return new ResponseEntity<>("Invalid file type: " + UploadService.extensionOf(completion.key()), HttpStatus.BAD_REQUEST);
+        }
+
+        try {
+            return new ResponseEntity<>(presignService.complete(completion.key(), completion.owner()), HttpStatus.CREATED);
+        } catch (ObjectNotFoundException e) {
+            return new ResponseEntity<>("File not found: " + completion.key(), HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @PostMapping("/uploads")
+    public ResponseEntity<?> createResumableUpload(@RequestBody ResumableUploadRequest uploadRequest) throws IOException {
+        String filename = uploadRequest.filename();
+        if (filename == null || filename.isBlank()) {
+            return new ResponseEntity<>("No file name given", HttpStatus.BAD_REQUEST);
+        }
+
+        String extension = UploadService.extensionOf(filename);
+        if (!isAllowed(extension)) {
+            return new ResponseEntity<>("Invalid file type: " + extension, HttpStatus.BAD_REQUEST);
+        }
+
+        try {
+            return new ResponseEntity<>(resumableUploadService.create(filename, uploadRequest.contentType(),
+                    uploadRequest.size(), uploadRequest.owner()), HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/uploads/{id}")
+    public ResponseEntity<?> getResumableUpload(@PathVariable("id") String id) {
+        try {
+            return new ResponseEntity<>(resumableUploadService.status(id), HttpStatus.OK);
+        } catch (NoSuchElementException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Receives one chunk as the raw request body. The body is streamed straight to storage, so its
+     * length has to be declared up front.
+     */
+    @PutMapping("/uploads/{id}")
+    public ResponseEntity<?> putUploadChunk(@PathVariable("id") String id, @RequestParam("offset") long offset,
+                                            HttpServletRequest request) {
+        long length = request.getContentLengthLong();
+        if (length < 0) {
+            return new ResponseEntity<>("Chunks need a Content-Length", HttpStatus.LENGTH_REQUIRED);
+        }
+
+        try {
+            return new ResponseEntity<>(resumableUploadService.putPart(id, offset, request.getInputStream(), length),
+                    HttpStatus.OK);
+        } catch (NoSuchElementException | ObjectNotFoundException e) {
+            return new ResponseEntity<>("Upload not found: " + id, HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        } catch (IOException e) {
+            return new ResponseEntity<>("Chunk upload failed: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PostMapping("/uploads/{id}/complete")
+    public ResponseEntity<?> completeResumableUpload(@PathVariable("id") String id) {
+        try {
+            return new ResponseEntity<>(resumableUploadService.complete(id), HttpStatus.CREATED);
+        } catch (NoSuchElementException | ObjectNotFoundException e) {
+            return new ResponseEntity<>("Upload not found: " + id, HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        } catch (IOException e) {
+            return new ResponseEntity<>("File upload failed: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @DeleteMapping("/uploads/{id}")
+    public ResponseEntity<?> abortResumableUpload(@PathVariable("id") String id) {
+        try {
+            resumableUploadService.abort(id);
+            return ResponseEntity.noContent().build();
+        } catch (NoSuchElementException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        }
+    }
+
+    @GetMapping("/presign/download/{*key}")
+    public ResponseEntity<?> presignDownload(@PathVariable("key") String key,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        key = key.startsWith("/") ? key.substring(1) : key;
+        // Storage hands compressed objects out as stored, so a client that cannot decode them is sent to
+        // the download endpoint instead, which decodes on the fly
+        StorageCodec codec = fileCatalogService.find(key)
+                .map(file -> StorageCodec.fromContentEncoding(file.getCodec()))
+                .orElse(StorageCodec.IDENTITY);
+        if (codec != StorageCodec.IDENTITY && !acceptsEncoding(acceptEncoding, codec.getName())) {
+            String url = ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path("/api/v1/files/download/").path(key)
+                    .build().encode().toUriString();
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .body(new PresignedUrl(key, HttpMethod.GET.name(), url, null));
+        }
+        try {
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .body(presignService.presignDownload(key));
+        } catch (UnsupportedOperationException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_IMPLEMENTED);
+        }
+    }
+
+    // Local objects are served with sendfile(2) where the connector supports it, so their bytes never
+    // pass through the JVM. The content is opened lazily and needs no closing when handed off.
+    private static boolean sendfile(HttpServletRequest request, ObjectContent content) {
+        Optional<Path> path = content.localPath();
+        if (path.isEmpty() || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            return false;
+        }
+        request.setAttribute(SENDFILE_FILENAME, path.get().toString());
+        request.setAttribute(SENDFILE_START, content.start());
+        request.setAttribute(SENDFILE_END, content.start() + content.length());
+        return true;
+    }
+
+    // If-Range holds either an entity tag or an HTTP date; a range is only served while it still matches
+    private boolean ifRangeMatches(String ifRange, String eTag, long lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(eTag);
+        }
+        try {
+            long date = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond();
+            return lastModified >= 0 && date == lastModified / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    // An entry naming the coding wins over "*", whatever their order; no header means identity only
+    static boolean acceptsEncoding(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.trim().split(";");
+            String name = params[0].trim();
+            boolean acceptable = true;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim().replace(" ", "");
+                if (param.equals("q=0") || param.matches("q=0\\.0{0,3}")) {
+                    acceptable = false;
+                }
+            }
+            if (name.equalsIgnoreCase(coding)) {
+                return acceptable;
+            }
+            if (name.equals("*")) {
+                wildcard = acceptable;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private boolean isAllowed(String extension) {
+        return urlService.isFileTypeAllowed(extension);
+    }
+
+    private Map<String, Object> uploadResponse(UploadResult result, RecordedUpload recorded) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("uploadedFile", result.key());
+        response.put("deduplicated", result.deduplicated());
+        response.put("jobId", recorded.jobId());
+        response.put("bucket", storage.getLocation());
+        response.put("message", "File uploaded successfully");
+        return response;
     }
 }
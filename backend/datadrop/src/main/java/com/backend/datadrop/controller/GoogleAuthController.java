@@ -2,6 +2,7 @@ package com.backend.datadrop.controller;
 
 import com.backend.datadrop.dto.AuthResponse;
 import com.backend.datadrop.dto.UserDto;
+import com.backend.datadrop.metrics.OAuthHttpClient;
 import com.backend.datadrop.service.GoogleAuthService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -16,9 +17,10 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.net.URI;
-import java.net.http.HttpClient;
+import java.net.URLEncoder;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 @RestController
@@ -43,8 +45,13 @@ public class GoogleAuthController {
     private String tokenUri;
 
     private final GoogleAuthService googleAuthService;
-    public GoogleAuthController(GoogleAuthService googleAuthService) {
+    private final OAuthHttpClient httpClient;
+    private final ObjectMapper mapper;
+
+    public GoogleAuthController(GoogleAuthService googleAuthService, OAuthHttpClient httpClient, ObjectMapper mapper) {
         this.googleAuthService = googleAuthService;
+        this.httpClient = httpClient;
+        this.mapper = mapper;
     }
     @GetMapping("")
     public ResponseEntity<?> GoogleSignIn() {
@@ -64,23 +71,21 @@ public class GoogleAuthController {
     public ResponseEntity<?> oauth2callback(@RequestParam("code") String code, HttpServletResponse response) throws Exception {
 
         // 1. Exchange code for tokens
-        String requestBody = "code=" + code
+        String requestBody = "code=" + URLEncoder.encode(code, StandardCharsets.UTF_8)
                 + "&client_id=" + clientId
                 + "&client_secret=" + clientSecret
                 + "&redirect_uri=" + redirectUri
                 + "&grant_type=authorization_code";
 
-        HttpClient client = HttpClient.newHttpClient();
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(tokenUri))
                 .header("Content-Type", "application/x-www-form-urlencoded")
                 .POST(HttpRequest.BodyPublishers.ofString(requestBody))
                 .build();
 
-        HttpResponse<String> tokenResponse = client.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> tokenResponse = httpClient.send("token", request);
 
         // 2. Parse token response
-        ObjectMapper mapper = new ObjectMapper();
         JsonNode jsonNode = mapper.readTree(tokenResponse.body());
 
         String accessToken = jsonNode.get("access_token").asText();
@@ -94,7 +99,7 @@ public class GoogleAuthController {
                 .GET()
                 .build();
 
-        HttpResponse<String> userInfoResponse = client.send(userInfoRequest, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> userInfoResponse = httpClient.send("userinfo", userInfoRequest);
         JsonNode userInfo = mapper.readTree(userInfoResponse.body());
 
         String googleId = userInfo.get("id").asText(); // Google unique user ID
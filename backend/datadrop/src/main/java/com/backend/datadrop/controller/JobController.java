@@ -0,0 +1,42 @@
+package com.backend.datadrop.controller;
+
+import com.backend.datadrop.dto.TransformJobRequest;
+import com.backend.datadrop.processing.TransformRequest;
+import com.backend.datadrop.processing.TransformSpec;
+import com.backend.datadrop.service.JobService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/jobs")
+public class JobController {
+
+    private final JobService jobService;
+    private final ObjectMapper objectMapper;
+
+    public JobController(JobService jobService, ObjectMapper objectMapper) {
+        this.jobService = jobService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping("{id}")
+    public ResponseEntity<?> getJobById(@PathVariable Long id) {
+        return jobService.findById(id)
+                .<ResponseEntity<?>>map(job -> new ResponseEntity<>(job, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>("Job not found: " + id, HttpStatus.NOT_FOUND));
+    }
+
+    @PostMapping("transform")
+    public ResponseEntity<?> createTransformJob(@RequestBody TransformJobRequest request) throws JsonProcessingException {
+        if (request.fileKey() == null || request.fileKey().isBlank()) {
+            return new ResponseEntity<>("No file key given", HttpStatus.BAD_REQUEST);
+        }
+        TransformSpec spec = request.spec() != null ? request.spec()
+                : new TransformSpec(null, null, null, null, null, null, null, null);
+        String payload = objectMapper.writeValueAsString(new TransformRequest(request.targetKey(), spec));
+        return new ResponseEntity<>(jobService.enqueue(JobService.TRANSFORM, request.fileKey(), payload), HttpStatus.ACCEPTED);
+    }
+}
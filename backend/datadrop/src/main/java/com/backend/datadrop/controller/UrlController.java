@@ -1,30 +1,97 @@
 package com.backend.datadrop.controller;
 
 import com.backend.datadrop.dto.UrlDto;
+import com.backend.datadrop.dto.UrlMatchResult;
 import com.backend.datadrop.model.Url;
+import com.backend.datadrop.service.UrlImportService;
 import com.backend.datadrop.service.UrlService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/url")
 public class UrlController {
 
     private final UrlService urlService;
+    private final UrlImportService urlImportService;
 
-    public UrlController(UrlService urlService) {
+    public UrlController(UrlService urlService, UrlImportService urlImportService) {
         this.urlService = urlService;
+        this.urlImportService = urlImportService;
     }
 
+    // Without paging or filter parameters the whole rule list is returned, as existing clients expect
     @GetMapping("")
-    public ResponseEntity<?> getUrl() {
-        return new ResponseEntity<>(urlService.getAll(), HttpStatus.OK);
+    public ResponseEntity<?> getUrl(@RequestParam(value = "afterId", required = false) Long afterId,
+                                    @RequestParam(value = "limit", required = false) Integer limit,
+                                    @RequestParam(value = "fileType", required = false) String fileType,
+                                    @RequestParam(value = "host", required = false) String host,
+                                    ServletWebRequest request) {
+        String eTag = urlService.getVersionTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        Object body = (afterId != null || limit != null || fileType != null || host != null)
+                ? urlService.getPage(afterId, limit, fileType, host)
+                : urlService.getAll();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(eTag)
+                .body(body);
+    }
+
+    @GetMapping("match")
+    public ResponseEntity<?> matchUrl(@RequestParam("url") String url) {
+        List<Url> rules;
+        try {
+            rules = urlService.match(url);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>("Invalid url: " + url, HttpStatus.BAD_REQUEST);
+        }
+
+        Set<String> fileTypes = new LinkedHashSet<>();
+        for (Url rule : rules) {
+            if (rule.getFile_type() != null) {
+                fileTypes.add(rule.getFile_type().toLowerCase(Locale.ROOT));
+            }
+        }
+        return new ResponseEntity<>(new UrlMatchResult(url, rules, fileTypes), HttpStatus.OK);
     }
 
     @GetMapping("{id}")
-    public ResponseEntity<?> getUrlById(@PathVariable Long id) {
-        return new ResponseEntity<>(urlService.getById(id), HttpStatus.OK);
+    public ResponseEntity<?> getUrlById(@PathVariable Long id, ServletWebRequest request) {
+        String eTag = urlService.getVersionTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(eTag)
+                .body(urlService.getById(id));
+    }
+
+    @PostMapping("bulk")
+    public ResponseEntity<?> importUrls(HttpServletRequest request) throws IOException {
+        MediaType contentType = request.getContentType() != null
+                ? MediaType.parseMediaType(request.getContentType())
+                : MediaType.APPLICATION_JSON;
+        try {
+            return new ResponseEntity<>(urlImportService.importRules(request.getInputStream(), contentType), HttpStatus.OK);
+        } catch (JsonProcessingException e) {
+            return new ResponseEntity<>("Invalid rule list: " + e.getOriginalMessage(), HttpStatus.BAD_REQUEST);
+        }
     }
 
     @PostMapping("")
@@ -2,6 +2,9 @@ package com.backend.datadrop.dao;
 
 import com.backend.datadrop.model.AccessToken;
 
+import java.util.Optional;
+
 public interface AccessTokenDao {
-    void save(AccessToken token);
+    AccessToken save(AccessToken token);
+    Optional<AccessToken> findByUserId(int userId);
 }
@@ -0,0 +1,21 @@
+package com.backend.datadrop.dao;
+
+import com.backend.datadrop.model.FileMetadata;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface FileDao {
+    List<FileMetadata> findPage(String prefix, String afterKey, int limit);
+    Optional<FileMetadata> findByKey(String key);
+    boolean isKeyTaken(String key);
+    boolean reserveKey(String key, Duration ttl);
+    void releaseKey(String key);
+    Optional<FileMetadata> findByContentHash(String contentHash);
+    FileMetadata save(FileMetadata file);
+    int saveVerified(List<FileMetadata> files, LocalDateTime verifiedAt);
+    int deleteNotVerifiedSince(LocalDateTime verifiedAt);
+    LocalDateTime now();
+}
@@ -0,0 +1,18 @@
+package com.backend.datadrop.dao;
+
+import com.backend.datadrop.model.Job;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+public interface JobDao {
+    Job create(Job job);
+    Optional<Job> findById(long id);
+    List<Job> claim(String workerId, int limit);
+    List<Long> markSucceeded(String workerId, List<Long> ids);
+    int renewLocks(String workerId, List<Long> ids);
+    boolean markForRetry(long id, String workerId, Duration delay, String error);
+    boolean markFailed(long id, String workerId, String error);
+    List<Job> requeueStale(Duration lockTimeout);
+}
@@ -0,0 +1,6 @@
+package com.backend.datadrop.dao;
+
+public interface ResourceVersionDao {
+    long get(String resource);
+    long bump(String resource);
+}
@@ -0,0 +1,19 @@
+package com.backend.datadrop.dao;
+
+import com.backend.datadrop.model.UploadPart;
+import com.backend.datadrop.model.UploadSession;
+import com.backend.datadrop.model.UploadStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface UploadSessionDao {
+    UploadSession create(UploadSession session);
+    Optional<UploadSession> findById(String id);
+    boolean updateStatus(String id, UploadStatus from, UploadStatus to);
+    UploadPart savePart(UploadPart part);
+    List<UploadPart> findParts(String uploadId);
+    List<UploadSession> findExpired(LocalDateTime now, int limit);
+    void delete(String id);
+}
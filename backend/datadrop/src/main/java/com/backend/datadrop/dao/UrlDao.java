@@ -2,10 +2,13 @@ package com.backend.datadrop.dao;
 
 import com.backend.datadrop.model.Url;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface UrlDao {
     List<Url> getAllUrls();
     Url getUrlById(long id);
+    List<Url> findPage(Long afterId, int limit, String fileType, String hostPrefix);
     Url saveUrl(Url url);
+    int saveAll(Collection<Url> urls, int batchSize);
 }
@@ -8,4 +8,5 @@ public interface UserDao {
     Optional<User> findByGoogleId(String googleId);
     Optional<User> findByEmail(String email);
     User save(User user);
+    User upsert(User user);
 }
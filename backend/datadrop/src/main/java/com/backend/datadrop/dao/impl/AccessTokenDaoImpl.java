@@ -2,21 +2,62 @@ package com.backend.datadrop.dao.impl;
 
 import com.backend.datadrop.dao.AccessTokenDao;
 import com.backend.datadrop.model.AccessToken;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 @Repository
+@Timed(value = "datadrop.db", histogram = true)
 public class AccessTokenDaoImpl implements AccessTokenDao {
 
+    private static final String COLUMNS =
+            "id, user_id, access_token, refresh_token, expires_in, expires_at, created_at, updated_at";
+
     private final JdbcTemplate jdbcTemplate;
 
     public AccessTokenDaoImpl(JdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
     }
 
+    private final RowMapper<AccessToken> tokenRowMapper = (rs, rowNum) -> {
+        AccessToken token = new AccessToken();
+        token.setId(rs.getInt("id"));
+        token.setUserId(rs.getInt("user_id"));
+        token.setAccessToken(rs.getString("access_token"));
+        token.setRefreshToken(rs.getString("refresh_token"));
+        token.setExpiresIn(rs.getLong("expires_in"));
+        token.setExpiresAt(toLocalDateTime(rs.getTimestamp("expires_at")));
+        token.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        token.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+        return token;
+    };
+
+    @Override
+    public AccessToken save(AccessToken token) {
+        // Google only sends a refresh token on the first consent, so a missing one keeps the stored value
+        String sql = "INSERT INTO access_tokens (user_id, access_token, refresh_token, expires_in, expires_at) " +
+                "VALUES (?, ?, ?, ?, ?) " +
+                "ON CONFLICT (user_id) DO UPDATE SET access_token = EXCLUDED.access_token, " +
+                "refresh_token = COALESCE(EXCLUDED.refresh_token, access_tokens.refresh_token), " +
+                "expires_in = EXCLUDED.expires_in, expires_at = EXCLUDED.expires_at, updated_at = CURRENT_TIMESTAMP " +
+                "RETURNING " + COLUMNS;
+        return jdbcTemplate.queryForObject(sql, tokenRowMapper, token.getUserId(), token.getAccessToken(),
+                token.getRefreshToken(), token.getExpiresIn(),
+                token.getExpiresAt() != null ? Timestamp.valueOf(token.getExpiresAt()) : null);
+    }
+
     @Override
-    public void save(AccessToken token) {
-        String sql = "INSERT INTO access_tokens (user_id, access_token, refresh_token, expires_in) VALUES (?, ?, ?, ?)";
-        jdbcTemplate.update(sql, token.getUserId(), token.getAccessToken(), token.getRefreshToken(), token.getExpiresIn());
+    public Optional<AccessToken> findByUserId(int userId) {
+        String sql = "SELECT " + COLUMNS + " FROM access_tokens WHERE user_id = ?";
+        return jdbcTemplate.query(sql, tokenRowMapper, userId).stream().findFirst();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
     }
 }
@@ -0,0 +1,204 @@
+package com.backend.datadrop.dao.impl;
+
+import com.backend.datadrop.dao.FileDao;
+import com.backend.datadrop.model.FileMetadata;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Timed(value = "datadrop.db", histogram = true)
+public class FileDaoImpl implements FileDao {
+
+    private static final String COLUMNS =
+            "id, file_key, storage_key, size, stored_size, codec, content_type, owner, content_hash, storage_class, created_at, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FileDaoImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    private final RowMapper<FileMetadata> fileRowMapper = (rs, rowNum) -> {
+        FileMetadata file = new FileMetadata();
+        file.setId(rs.getLong("id"));
+        file.setKey(rs.getString("file_key"));
+        file.setStorageKey(rs.getString("storage_key"));
+        file.setSize(rs.getLong("size"));
+        file.setStoredSize(rs.getLong("stored_size"));
+        file.setCodec(rs.getString("codec"));
+        file.setContentType(rs.getString("content_type"));
+        file.setOwner(rs.getString("owner"));
+        file.setContentHash(rs.getString("content_hash"));
+        file.setStorageClass(rs.getString("storage_class"));
+        file.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        file.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+        return file;
+    };
+
+    @Override
+    public List<FileMetadata> findPage(String prefix, String afterKey, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM files WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (prefix != null && !prefix.isEmpty()) {
+            sql.append(" AND file_key LIKE ? ESCAPE '\\'");
+            args.add(escapeLike(prefix) + "%");
+        }
+        if (afterKey != null) {
+            sql.append(" AND file_key > ?");
+            args.add(afterKey);
+        }
+        sql.append(" ORDER BY file_key LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), fileRowMapper, args.toArray());
+    }
+
+    @Override
+    public Optional<FileMetadata> findByKey(String key) {
+        String sql = "SELECT " + COLUMNS + " FROM files WHERE file_key = ?";
+        return jdbcTemplate.query(sql, fileRowMapper, key).stream().findFirst();
+    }
+
+    @Override
+    public boolean isKeyTaken(String key) {
+        // Upload sessions and running uploads reserve their key before the file is in the catalog
+        String sql = "SELECT EXISTS (SELECT 1 FROM files WHERE file_key = ?) " +
+                "OR EXISTS (SELECT 1 FROM upload_sessions WHERE file_key = ?) " +
+                "OR EXISTS (SELECT 1 FROM key_reservations WHERE file_key = ? AND expires_at > CURRENT_TIMESTAMP)";
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class, key, key, key));
+    }
+
+    @Override
+    public boolean reserveKey(String key, Duration ttl) {
+        // The primary key decides between concurrent uploads of one name; expired reservations are taken over
+        String sql = "INSERT INTO key_reservations (file_key, expires_at) " +
+                "SELECT ?, CURRENT_TIMESTAMP + make_interval(secs => ?) " +
+                "WHERE NOT EXISTS (SELECT 1 FROM files WHERE file_key = ?) " +
+                "AND NOT EXISTS (SELECT 1 FROM upload_sessions WHERE file_key = ?) " +
+                "ON CONFLICT (file_key) DO UPDATE SET expires_at = EXCLUDED.expires_at " +
+                "WHERE key_reservations.expires_at < CURRENT_TIMESTAMP";
+        return jdbcTemplate.update(sql, key, ttl.toSeconds(), key, key) > 0;
+    }
+
+    @Override
+    public void releaseKey(String key) {
+        jdbcTemplate.update("DELETE FROM key_reservations WHERE file_key = ?", key);
+    }
+
+    @Override
+    public Optional<FileMetadata> findByContentHash(String contentHash) {
+        String sql = "SELECT " + COLUMNS + " FROM files WHERE content_hash = ? ORDER BY id LIMIT 1";
+        return jdbcTemplate.query(sql, fileRowMapper, contentHash).stream().findFirst();
+    }
+
+    @Override
+    public FileMetadata save(FileMetadata file) {
+        String sql = "INSERT INTO files (file_key, storage_key, size, stored_size, codec, content_type, owner, content_hash, " +
+                "storage_class, verified_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+                "ON CONFLICT (file_key) DO UPDATE SET storage_key = EXCLUDED.storage_key, size = EXCLUDED.size, " +
+                "stored_size = EXCLUDED.stored_size, codec = EXCLUDED.codec, content_type = EXCLUDED.content_type, " +
+                "owner = EXCLUDED.owner, content_hash = EXCLUDED.content_hash, storage_class = EXCLUDED.storage_class, " +
+                "updated_at = CURRENT_TIMESTAMP, verified_at = CURRENT_TIMESTAMP " +
+                "RETURNING " + COLUMNS;
+        String storageKey = file.getStorageKey() != null ? file.getStorageKey() : file.getKey();
+        FileMetadata saved = jdbcTemplate.queryForObject(sql, fileRowMapper, file.getKey(), storageKey, file.getSize(),
+                file.getStoredSize(), file.getCodec(), file.getContentType(),
+                file.getOwner(), file.getContentHash(), file.getStorageClass());
+        // The row holds the key from now on
+        releaseKey(file.getKey());
+        return saved;
+    }
+
+    @Override
+    public int saveVerified(List<FileMetadata> files, LocalDateTime verifiedAt) {
+        // Objects are matched on storage_key, so every row deduplicated onto an object is kept alive by it.
+        // S3 reports stored sizes; the original size of a compressed object is only known from its upload.
+        // Only rows whose object changed are rewritten; the rest just get their verified_at moved on.
+        String update = "UPDATE files SET storage_class = ?, " +
+                "updated_at = CASE WHEN stored_size IS DISTINCT FROM ? THEN ? ELSE updated_at END, " +
+                "size = CASE WHEN codec IS NULL OR codec = 'identity' THEN ? ELSE size END, " +
+                "stored_size = ?, verified_at = ? " +
+                "WHERE storage_key = ? AND (stored_size IS DISTINCT FROM ? OR storage_class IS DISTINCT FROM ?)";
+        String touch = "UPDATE files SET verified_at = ? WHERE storage_key = ? AND verified_at < ?";
+        // Objects the catalog has never seen (e.g. written by other tools) get a row of their own
+        String insert = "INSERT INTO files (file_key, storage_key, size, stored_size, storage_class, created_at, updated_at, verified_at) " +
+                "SELECT ?, ?, ?, ?, ?, ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM files WHERE storage_key = ?) " +
+                "ON CONFLICT (file_key) DO NOTHING";
+        Timestamp verified = Timestamp.valueOf(verifiedAt);
+        int[][] updated = jdbcTemplate.batchUpdate(update, files, files.size(), (ps, file) -> {
+            ps.setString(1, file.getStorageClass());
+            ps.setLong(2, file.getStoredSize());
+            ps.setTimestamp(3, modifiedAt(file, verified));
+            ps.setLong(4, file.getSize());
+            ps.setLong(5, file.getStoredSize());
+            ps.setTimestamp(6, verified);
+            ps.setString(7, file.getKey());
+            ps.setLong(8, file.getStoredSize());
+            ps.setString(9, file.getStorageClass());
+        });
+        jdbcTemplate.batchUpdate(touch, files, files.size(), (ps, file) -> {
+            ps.setTimestamp(1, verified);
+            ps.setString(2, file.getKey());
+            ps.setTimestamp(3, verified);
+        });
+        int[][] inserted = jdbcTemplate.batchUpdate(insert, files, files.size(), (ps, file) -> {
+            Timestamp modified = modifiedAt(file, verified);
+            ps.setString(1, file.getKey());
+            ps.setString(2, file.getKey());
+            ps.setLong(3, file.getSize());
+            ps.setLong(4, file.getStoredSize());
+            ps.setString(5, file.getStorageClass());
+            ps.setTimestamp(6, modified);
+            ps.setTimestamp(7, modified);
+            ps.setTimestamp(8, verified);
+            ps.setString(9, file.getKey());
+        });
+        return changed(updated) + changed(inserted);
+    }
+
+    @Override
+    public int deleteNotVerifiedSince(LocalDateTime verifiedAt) {
+        String sql = "DELETE FROM files WHERE verified_at < ?";
+        return jdbcTemplate.update(sql, Timestamp.valueOf(verifiedAt));
+    }
+
+    @Override
+    public LocalDateTime now() {
+        // The clock verified_at = CURRENT_TIMESTAMP is written with, as a TIMESTAMP column stores it
+        return jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", Timestamp.class).toLocalDateTime();
+    }
+
+    // SUCCESS_NO_INFO (from drivers that rewrite batches) may stand for a change, so it is counted
+    private static int changed(int[][] counts) {
+        int changed = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count != 0) {
+                    changed++;
+                }
+            }
+        }
+        return changed;
+    }
+
+    private static Timestamp modifiedAt(FileMetadata file, Timestamp fallback) {
+        return file.getUpdatedAt() != null ? Timestamp.valueOf(file.getUpdatedAt()) : fallback;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,145 @@
+package com.backend.datadrop.dao.impl;
+
+import com.backend.datadrop.dao.JobDao;
+import com.backend.datadrop.model.Job;
+import com.backend.datadrop.model.JobStatus;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Timed(value = "datadrop.db", histogram = true)
+public class JobDaoImpl implements JobDao {
+
+    private static final String COLUMNS = "id, job_type, file_key, payload, status, attempts, max_attempts, next_run_at, " +
+            "locked_by, locked_at, last_error, created_at, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobDaoImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    private final RowMapper<Job> jobRowMapper = (rs, rowNum) -> {
+        Job job = new Job();
+        job.setId(rs.getLong("id"));
+        job.setType(rs.getString("job_type"));
+        job.setFileKey(rs.getString("file_key"));
+        job.setPayload(rs.getString("payload"));
+        job.setStatus(JobStatus.valueOf(rs.getString("status")));
+        job.setAttempts(rs.getInt("attempts"));
+        job.setMaxAttempts(rs.getInt("max_attempts"));
+        job.setNextRunAt(toLocalDateTime(rs.getTimestamp("next_run_at")));
+        job.setLockedBy(rs.getString("locked_by"));
+        job.setLockedAt(toLocalDateTime(rs.getTimestamp("locked_at")));
+        job.setLastError(rs.getString("last_error"));
+        job.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        job.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+        return job;
+    };
+
+    @Override
+    public Job create(Job job) {
+        String sql = "INSERT INTO jobs (job_type, file_key, payload, status, max_attempts, next_run_at) " +
+                "VALUES (?, ?, ?, 'PENDING', ?, CURRENT_TIMESTAMP) RETURNING " + COLUMNS;
+        return jdbcTemplate.queryForObject(sql, jobRowMapper, job.getType(), job.getFileKey(), job.getPayload(),
+                job.getMaxAttempts());
+    }
+
+    @Override
+    public Optional<Job> findById(long id) {
+        String sql = "SELECT " + COLUMNS + " FROM jobs WHERE id = ?";
+        return jdbcTemplate.query(sql, jobRowMapper, id).stream().findFirst();
+    }
+
+    @Override
+    public List<Job> claim(String workerId, int limit) {
+        // SKIP LOCKED lets every backend instance claim a disjoint batch without waiting on the others
+        String sql = "UPDATE jobs SET status = 'RUNNING', locked_by = ?, locked_at = CURRENT_TIMESTAMP, " +
+                "attempts = attempts + 1, updated_at = CURRENT_TIMESTAMP " +
+                "WHERE id IN (SELECT id FROM jobs WHERE status = 'PENDING' AND next_run_at <= CURRENT_TIMESTAMP " +
+                "ORDER BY next_run_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+                "RETURNING " + COLUMNS;
+        return jdbcTemplate.query(sql, jobRowMapper, workerId, limit);
+    }
+
+    // The outcome of a job is only stored by the worker that still holds its lease. All times come from
+    // the database clock, the same one claim() compares against.
+
+    @Override
+    public List<Long> markSucceeded(String workerId, List<Long> ids) {
+        String sql = "UPDATE jobs SET status = 'SUCCEEDED', locked_by = NULL, locked_at = NULL, last_error = NULL, " +
+                "updated_at = CURRENT_TIMESTAMP WHERE id = ? AND status = 'RUNNING' AND locked_by = ?";
+        int[][] counts = jdbcTemplate.batchUpdate(sql, ids, ids.size(), (ps, id) -> {
+            ps.setLong(1, id);
+            ps.setString(2, workerId);
+        });
+        List<Long> updated = new ArrayList<>(ids.size());
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count > 0) {
+                    updated.add(ids.get(i));
+                }
+                i++;
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public int renewLocks(String workerId, List<Long> ids) {
+        String sql = "UPDATE jobs SET locked_at = CURRENT_TIMESTAMP WHERE id = ? AND status = 'RUNNING' AND locked_by = ?";
+        int[][] counts = jdbcTemplate.batchUpdate(sql, ids, ids.size(), (ps, id) -> {
+            ps.setLong(1, id);
+            ps.setString(2, workerId);
+        });
+        int renewed = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                renewed += Math.max(count, 0);
+            }
+        }
+        return renewed;
+    }
+
+    @Override
+    public boolean markForRetry(long id, String workerId, Duration delay, String error) {
+        String sql = "UPDATE jobs SET status = 'PENDING', next_run_at = CURRENT_TIMESTAMP + make_interval(secs => ?), " +
+                "last_error = ?, locked_by = NULL, locked_at = NULL, updated_at = CURRENT_TIMESTAMP " +
+                "WHERE id = ? AND status = 'RUNNING' AND locked_by = ?";
+        return jdbcTemplate.update(sql, delay.toMillis() / 1000.0, error, id, workerId) > 0;
+    }
+
+    @Override
+    public boolean markFailed(long id, String workerId, String error) {
+        String sql = "UPDATE jobs SET status = 'FAILED', last_error = ?, locked_by = NULL, locked_at = NULL, " +
+                "updated_at = CURRENT_TIMESTAMP WHERE id = ? AND status = 'RUNNING' AND locked_by = ?";
+        return jdbcTemplate.update(sql, error, id, workerId) > 0;
+    }
+
+    @Override
+    public List<Job> requeueStale(Duration lockTimeout) {
+        // Every claim counts as an attempt, so a job whose worker keeps dying fails once its attempts are used up
+        String sql = "UPDATE jobs SET " +
+                "status = CASE WHEN attempts >= max_attempts THEN 'FAILED' ELSE 'PENDING' END, " +
+                "last_error = CASE WHEN attempts >= max_attempts " +
+                "THEN 'Lock expired after ' || attempts || ' attempts' ELSE last_error END, " +
+                "locked_by = NULL, locked_at = NULL, updated_at = CURRENT_TIMESTAMP " +
+                "WHERE status = 'RUNNING' AND locked_at < CURRENT_TIMESTAMP - make_interval(secs => ?) " +
+                "RETURNING " + COLUMNS;
+        return jdbcTemplate.query(sql, jobRowMapper, lockTimeout.toMillis() / 1000.0);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,34 @@
+package com.backend.datadrop.dao.impl;
+
+import com.backend.datadrop.dao.ResourceVersionDao;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@Timed(value = "datadrop.db", histogram = true)
+public class ResourceVersionDaoImpl implements ResourceVersionDao {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ResourceVersionDaoImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Read-only, so with a replica the version comes from the same database as the pages it tags
+    @Override
+    @Transactional(readOnly = true)
+    public long get(String resource) {
+        String sql = "SELECT version FROM resource_versions WHERE name = ?";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> rs.getLong("version"), resource)
+                .stream().findFirst().orElse(0L);
+    }
+
+    @Override
+    public long bump(String resource) {
+        String sql = "INSERT INTO resource_versions (name, version) VALUES (?, 1) " +
+                "ON CONFLICT (name) DO UPDATE SET version = resource_versions.version + 1 RETURNING version";
+        return jdbcTemplate.queryForObject(sql, Long.class, resource);
+    }
+}
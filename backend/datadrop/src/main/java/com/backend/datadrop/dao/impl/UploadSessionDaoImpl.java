@@ -0,0 +1,109 @@
+package com.backend.datadrop.dao.impl;
+
+import com.backend.datadrop.dao.UploadSessionDao;
+import com.backend.datadrop.model.UploadPart;
+import com.backend.datadrop.model.UploadSession;
+import com.backend.datadrop.model.UploadStatus;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Timed(value = "datadrop.db", histogram = true)
+public class UploadSessionDaoImpl implements UploadSessionDao {
+
+    private static final String COLUMNS = "id, file_key, storage_upload_id, content_type, owner, part_size, total_size, " +
+            "status, created_at, updated_at, expires_at";
+    private static final String PART_COLUMNS = "upload_id, part_number, size, etag, created_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UploadSessionDaoImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    private final RowMapper<UploadSession> sessionRowMapper = (rs, rowNum) -> {
+        UploadSession session = new UploadSession();
+        session.setId(rs.getString("id"));
+        session.setKey(rs.getString("file_key"));
+        session.setStorageUploadId(rs.getString("storage_upload_id"));
+        session.setContentType(rs.getString("content_type"));
+        session.setOwner(rs.getString("owner"));
+        session.setPartSize(rs.getLong("part_size"));
+        session.setTotalSize(rs.getObject("total_size", Long.class));
+        session.setStatus(UploadStatus.valueOf(rs.getString("status")));
+        session.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        session.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+        session.setExpiresAt(toLocalDateTime(rs.getTimestamp("expires_at")));
+        return session;
+    };
+
+    private final RowMapper<UploadPart> partRowMapper = (rs, rowNum) -> {
+        UploadPart part = new UploadPart();
+        part.setUploadId(rs.getString("upload_id"));
+        part.setPartNumber(rs.getInt("part_number"));
+        part.setSize(rs.getLong("size"));
+        part.setETag(rs.getString("etag"));
+        part.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        return part;
+    };
+
+    @Override
+    public UploadSession create(UploadSession session) {
+        String sql = "INSERT INTO upload_sessions (id, file_key, storage_upload_id, content_type, owner, part_size, " +
+                "total_size, status, expires_at) VALUES (?, ?, ?, ?, ?, ?, ?, 'ACTIVE', ?) RETURNING " + COLUMNS;
+        return jdbcTemplate.queryForObject(sql, sessionRowMapper, session.getId(), session.getKey(),
+                session.getStorageUploadId(), session.getContentType(), session.getOwner(), session.getPartSize(),
+                session.getTotalSize(), Timestamp.valueOf(session.getExpiresAt()));
+    }
+
+    @Override
+    public Optional<UploadSession> findById(String id) {
+        String sql = "SELECT " + COLUMNS + " FROM upload_sessions WHERE id = ?";
+        return jdbcTemplate.query(sql, sessionRowMapper, id).stream().findFirst();
+    }
+
+    @Override
+    public boolean updateStatus(String id, UploadStatus from, UploadStatus to) {
+        // Conditional on the current status so only one caller wins a transition
+        String sql = "UPDATE upload_sessions SET status = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ? AND status = ?";
+        return jdbcTemplate.update(sql, to.name(), id, from.name()) == 1;
+    }
+
+    @Override
+    public UploadPart savePart(UploadPart part) {
+        // A part sent again (a retried chunk) replaces the earlier one, as it does in the multipart upload
+        String sql = "INSERT INTO upload_parts (upload_id, part_number, size, etag) VALUES (?, ?, ?, ?) " +
+                "ON CONFLICT (upload_id, part_number) DO UPDATE SET size = EXCLUDED.size, etag = EXCLUDED.etag, " +
+                "created_at = CURRENT_TIMESTAMP RETURNING " + PART_COLUMNS;
+        return jdbcTemplate.queryForObject(sql, partRowMapper, part.getUploadId(), part.getPartNumber(),
+                part.getSize(), part.getETag());
+    }
+
+    @Override
+    public List<UploadPart> findParts(String uploadId) {
+        String sql = "SELECT " + PART_COLUMNS + " FROM upload_parts WHERE upload_id = ? ORDER BY part_number";
+        return jdbcTemplate.query(sql, partRowMapper, uploadId);
+    }
+
+    @Override
+    public List<UploadSession> findExpired(LocalDateTime now, int limit) {
+        String sql = "SELECT " + COLUMNS + " FROM upload_sessions WHERE expires_at <= ? ORDER BY expires_at LIMIT ?";
+        return jdbcTemplate.query(sql, sessionRowMapper, Timestamp.valueOf(now), limit);
+    }
+
+    @Override
+    public void delete(String id) {
+        jdbcTemplate.update("DELETE FROM upload_sessions WHERE id = ?", id);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
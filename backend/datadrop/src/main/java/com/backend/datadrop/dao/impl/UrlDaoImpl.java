@@ -2,17 +2,24 @@ package com.backend.datadrop.dao.impl;
 
 import com.backend.datadrop.dao.UrlDao;
 import com.backend.datadrop.model.Url;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 
 @Repository
+@Timed(value = "datadrop.db", histogram = true)
 public class UrlDaoImpl implements UrlDao {
 
+    private static final String COLUMNS = "id, base_url, file_type";
+
     private final JdbcTemplate jdbcTemplate;
 
     public UrlDaoImpl(JdbcTemplate jdbcTemplate) {
@@ -33,21 +40,72 @@ public class UrlDaoImpl implements UrlDao {
 
     @Override
     public List<Url> getAllUrls() {
-        String sql = "SELECT * FROM base_url";
+        String sql = "SELECT " + COLUMNS + " FROM base_url ORDER BY id";
         return jdbcTemplate.query(sql, urlRowMapper);
     }
 
     @Override
     public Url getUrlById(long id) {
-        String sql = "SELECT * FROM base_url WHERE id = ?";
+        String sql = "SELECT " + COLUMNS + " FROM base_url WHERE id = ?";
         return jdbcTemplate.queryForObject(sql, urlRowMapper, id);
     }
 
+    @Override
+    public List<Url> findPage(Long afterId, int limit, String fileType, String hostPrefix) {
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM base_url WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (fileType != null) {
+            sql.append(" AND lower(file_type) = ?");
+            args.add(fileType.toLowerCase(Locale.ROOT));
+        }
+        if (hostPrefix != null) {
+            // host is a generated column holding the lower-cased host of base_url
+            sql.append(" AND host LIKE ? ESCAPE '\\'");
+            args.add(escapeLike(hostPrefix.toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (afterId != null) {
+            sql.append(" AND id > ?");
+            args.add(afterId);
+        }
+        sql.append(" ORDER BY id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), urlRowMapper, args.toArray());
+    }
+
     @Override
     public Url saveUrl(Url url) {
-        String sql = "INSERT INTO base_url (base_url, file_type) VALUES (?, ?) RETURNING id";
-        Long id = jdbcTemplate.queryForObject(sql, Long.class, url.getBaseUrl(), url.getFile_type());
+        // Saving a rule that already exists returns the existing row
+        String sql = "INSERT INTO base_url (base_url, file_type) VALUES (?, ?) " +
+                "ON CONFLICT (base_url, file_type) DO NOTHING RETURNING id";
+        Long id = jdbcTemplate.query(sql, (rs, rowNum) -> rs.getLong("id"), url.getBaseUrl(), url.getFile_type())
+                .stream().findFirst()
+                .orElseGet(() -> jdbcTemplate.queryForObject(
+                        "SELECT id FROM base_url WHERE base_url = ? AND file_type IS NOT DISTINCT FROM ?",
+                        Long.class, url.getBaseUrl(), url.getFile_type()));
         url.setId(id);
         return url;
     }
+
+    @Override
+    public int saveAll(Collection<Url> urls, int batchSize) {
+        String sql = "INSERT INTO base_url (base_url, file_type) VALUES (?, ?) ON CONFLICT (base_url, file_type) DO NOTHING";
+        int[][] counts = jdbcTemplate.batchUpdate(sql, urls, batchSize, (ps, url) -> {
+            ps.setString(1, url.getBaseUrl());
+            ps.setString(2, url.getFile_type());
+        });
+        int inserted = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // SUCCESS_NO_INFO (from drivers that rewrite batches) may stand for a skipped rule, so it is not counted
+                if (count > 0) {
+                    inserted++;
+                }
+            }
+        }
+        return inserted;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 }
@@ -2,6 +2,7 @@ package com.backend.datadrop.dao.impl;
 
 import com.backend.datadrop.dao.UserDao;
 import com.backend.datadrop.model.User;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
@@ -11,6 +12,7 @@ import java.sql.SQLException;
 import java.util.Optional;
 
 @Repository
+@Timed(value = "datadrop.db", histogram = true)
 public class UserDaoImpl implements UserDao {
 
     private final JdbcTemplate jdbcTemplate;
@@ -47,4 +49,13 @@ public class UserDaoImpl implements UserDao {
         user.setId(id);
         return user;
     }
+
+    @Override
+    public User upsert(User user) {
+        // A single statement, so concurrent first logins of the same account cannot race on google_id
+        String sql = "INSERT INTO users (name, email, google_id) VALUES (?, ?, ?) " +
+                "ON CONFLICT (google_id) DO UPDATE SET name = EXCLUDED.name, email = EXCLUDED.email " +
+                "RETURNING id, name, email, google_id";
+        return jdbcTemplate.queryForObject(sql, userRowMapper, user.getName(), user.getEmail(), user.getGoogleId());
+    }
 }
@@ -0,0 +1,86 @@
+package com.backend.datadrop.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Polls how far the replica's replay is behind and takes it out of rotation while that exceeds
+ * {@code max-lag}, or while it cannot be reached. Until the first check succeeds all reads go to
+ * the primary, so startup does not wait for the replica.
+ */
+public class ReplicaLagMonitor implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // A replica that replayed everything it received is not lagging, however old its last replayed
+    // transaction is; a database that is not in recovery is a standalone copy and never lags
+    private static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private volatile boolean usable;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag) {
+        this.replica = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+    }
+
+    @Scheduled(fixedDelayString = "${datadrop.datasource.replica.lag-check-interval:PT5S}")
+    public void check() {
+        try {
+            Double lag = replica.queryForObject(LAG_QUERY, Double.class);
+            update(lag != null ? lag : 0);
+        } catch (DataAccessException e) {
+            markUnavailable(e);
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    void update(double lagSeconds) {
+        this.lagSeconds = lagSeconds;
+        boolean caughtUp = lagSeconds * 1000 <= maxLag.toMillis();
+        if (caughtUp != usable) {
+            log.info(caughtUp ? "Replica is {}s behind, reading from it again"
+                    : "Replica is {}s behind, reading from the primary", lagSeconds);
+        }
+        usable = caughtUp;
+    }
+
+    void markUnavailable(Exception e) {
+        if (usable) {
+            log.warn("Replica is unavailable, reading from the primary", e);
+        }
+        usable = false;
+        lagSeconds = Double.NaN;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("datadrop.db.replica.lag", this, ReplicaLagMonitor::getLagSeconds)
+                .description("How far the replica's replay is behind, NaN while it is unreachable")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("datadrop.db.replica.usable", this, monitor -> monitor.isReplicaUsable() ? 1 : 0)
+                .description("Whether read-only transactions are sent to the replica")
+                .register(registry);
+    }
+}
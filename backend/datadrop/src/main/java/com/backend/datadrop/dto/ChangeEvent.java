@@ -0,0 +1,15 @@
+package com.backend.datadrop.dto;
+
+/**
+ * A change published on the application event bus and pushed to {@code /api/v1/events} subscribers.
+ * {@code data} is serialized as the JSON body of the event.
+ */
+public record ChangeEvent(
+        String type,
+        Object data
+) {
+    public static final String FILE_UPLOADED = "file.uploaded";
+    public static final String URL_ADDED = "url.added";
+    public static final String URLS_IMPORTED = "urls.imported";
+    public static final String JOB_STATUS = "job.status";
+}
@@ -0,0 +1,13 @@
+package com.backend.datadrop.dto;
+
+import java.util.Date;
+
+public record FileInfo(
+        String key,
+        long size,
+        long storedSize,
+        String codec,
+        Date lastModified,
+        String storageClass
+) {
+}
@@ -0,0 +1,10 @@
+package com.backend.datadrop.dto;
+
+import java.util.List;
+
+public record FilePage(
+        List<FileInfo> files,
+        String nextContinuationToken,
+        boolean truncated
+) {
+}
@@ -0,0 +1,19 @@
+package com.backend.datadrop.dto;
+
+public record FileUploadStatus(
+        String file,
+        String key,
+        boolean uploaded,
+        boolean deduplicated,
+        long size,
+        Long jobId,
+        String error
+) {
+    public static FileUploadStatus success(String file, UploadResult result, Long jobId) {
+        return new FileUploadStatus(file, result.key(), true, result.deduplicated(), result.size(), jobId, null);
+    }
+
+    public static FileUploadStatus failure(String file, String error) {
+        return new FileUploadStatus(file, null, false, false, 0, null, error);
+    }
+}
@@ -0,0 +1,11 @@
+package com.backend.datadrop.dto;
+
+import com.backend.datadrop.model.JobStatus;
+
+public record JobStatusEvent(
+        long id,
+        String type,
+        String fileKey,
+        JobStatus status
+) {
+}
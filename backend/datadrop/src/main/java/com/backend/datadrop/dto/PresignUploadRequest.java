@@ -0,0 +1,7 @@
+package com.backend.datadrop.dto;
+
+public record PresignUploadRequest(
+        String filename,
+        String contentType
+) {
+}
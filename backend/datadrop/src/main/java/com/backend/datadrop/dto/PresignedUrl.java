@@ -0,0 +1,11 @@
+package com.backend.datadrop.dto;
+
+import java.time.Instant;
+
+public record PresignedUrl(
+        String key,
+        String method,
+        String url,
+        Instant expiresAt
+) {
+}
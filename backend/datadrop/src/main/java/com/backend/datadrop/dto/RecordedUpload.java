@@ -0,0 +1,9 @@
+package com.backend.datadrop.dto;
+
+import com.backend.datadrop.model.FileMetadata;
+
+public record RecordedUpload(
+        FileMetadata file,
+        Long jobId
+) {
+}
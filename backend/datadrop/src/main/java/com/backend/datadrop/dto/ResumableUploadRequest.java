@@ -0,0 +1,9 @@
+package com.backend.datadrop.dto;
+
+public record ResumableUploadRequest(
+        String filename,
+        String contentType,
+        Long size,
+        String owner
+) {
+}
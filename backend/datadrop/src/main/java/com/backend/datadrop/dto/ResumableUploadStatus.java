@@ -0,0 +1,16 @@
+package com.backend.datadrop.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ResumableUploadStatus(
+        String uploadId,
+        String key,
+        String status,
+        long partSize,
+        Long size,
+        long receivedBytes,
+        List<Long> receivedOffsets,
+        LocalDateTime expiresAt
+) {
+}
@@ -0,0 +1,10 @@
+package com.backend.datadrop.dto;
+
+import com.backend.datadrop.processing.TransformSpec;
+
+public record TransformJobRequest(
+        String fileKey,
+        String targetKey,
+        TransformSpec spec
+) {
+}
@@ -0,0 +1,7 @@
+package com.backend.datadrop.dto;
+
+public record UploadCompletion(
+        String key,
+        String owner
+) {
+}
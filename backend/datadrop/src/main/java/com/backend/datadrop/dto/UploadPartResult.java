@@ -0,0 +1,10 @@
+package com.backend.datadrop.dto;
+
+public record UploadPartResult(
+        String uploadId,
+        int partNumber,
+        long offset,
+        long size,
+        String eTag
+) {
+}
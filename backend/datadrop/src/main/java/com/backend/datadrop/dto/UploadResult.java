@@ -0,0 +1,13 @@
+package com.backend.datadrop.dto;
+
+public record UploadResult(
+        String key,
+        String storageKey,
+        long size,
+        long storedSize,
+        String codec,
+        String eTag,
+        String sha256,
+        boolean deduplicated
+) {
+}
@@ -0,0 +1,13 @@
+package com.backend.datadrop.dto;
+
+/**
+ * Outcome of a bulk rule import: rows read, rows skipped for lacking a url, distinct rules among the
+ * rest and how many of those were new to the table.
+ */
+public record UrlImportResult(
+        int received,
+        int skipped,
+        int unique,
+        int inserted
+) {
+}
@@ -0,0 +1,13 @@
+package com.backend.datadrop.dto;
+
+import com.backend.datadrop.model.Url;
+
+import java.util.List;
+import java.util.Set;
+
+public record UrlMatchResult(
+        String url,
+        List<Url> rules,
+        Set<String> fileTypes
+) {
+}
@@ -0,0 +1,12 @@
+package com.backend.datadrop.dto;
+
+import com.backend.datadrop.model.Url;
+
+import java.util.List;
+
+public record UrlPage(
+        List<Url> urls,
+        Long nextAfterId,
+        boolean truncated
+) {
+}
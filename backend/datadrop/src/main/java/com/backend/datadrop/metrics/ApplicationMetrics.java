@@ -0,0 +1,67 @@
+package com.backend.datadrop.metrics;
+
+import com.backend.datadrop.admission.AdmissionController;
+import com.backend.datadrop.service.EventStreamService;
+import com.backend.datadrop.service.UrlService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes counters the services already keep: rule index cache hits and misses, the number of
+ * open event streams and the state of upload admission.
+ */
+@Component
+public class ApplicationMetrics implements MeterBinder {
+
+    private final UrlService urlService;
+    private final EventStreamService eventStreamService;
+    private final AdmissionController admissionController;
+
+    public ApplicationMetrics(UrlService urlService, EventStreamService eventStreamService,
+                              AdmissionController admissionController) {
+        this.urlService = urlService;
+        this.eventStreamService = eventStreamService;
+        this.admissionController = admissionController;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("datadrop.url.rules.cache", urlService, UrlService::getCacheHits)
+                .description("Rule lookups answered from the in-memory index")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("datadrop.url.rules.cache", urlService, UrlService::getCacheMisses)
+                .description("Rule lookups that loaded the index from the database")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("datadrop.events.subscribers", eventStreamService, EventStreamService::getSubscriberCount)
+                .description("Open Server-Sent Events streams")
+                .register(registry);
+
+        Gauge.builder("datadrop.admission.in.flight", admissionController, AdmissionController::getInFlight)
+                .description("Admitted upload and processing requests")
+                .register(registry);
+        Gauge.builder("datadrop.admission.in.flight.bytes", admissionController, AdmissionController::getBytesInFlight)
+                .description("Declared body size of admitted requests")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("datadrop.admission.queue.depth", admissionController, AdmissionController::getQueued)
+                .description("Requests waiting for admission")
+                .register(registry);
+        FunctionCounter.builder("datadrop.admission.admitted", admissionController, AdmissionController::getAdmitted)
+                .description("Requests admitted, directly or after waiting")
+                .register(registry);
+        FunctionCounter.builder("datadrop.admission.queued", admissionController, AdmissionController::getWaited)
+                .description("Requests that had to wait for admission")
+                .register(registry);
+        for (String reason : AdmissionController.REASONS) {
+            FunctionCounter.builder("datadrop.admission.rejections", admissionController, c -> c.getRejections(reason))
+                    .description("Requests turned away with 429")
+                    .tag("reason", reason)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.backend.datadrop.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Sends requests to Google's OAuth endpoints over the shared {@link HttpClient} and times them,
+ * tagged with the call ({@code token}, {@code userinfo}, {@code refresh}) and the outcome.
+ */
+@Component
+public class OAuthHttpClient {
+
+    private final HttpClient httpClient;
+    private final MeterRegistry registry;
+
+    public OAuthHttpClient(HttpClient httpClient, MeterRegistry registry) {
+        this.httpClient = httpClient;
+        this.registry = registry;
+    }
+
+    public HttpResponse<String> send(String call, HttpRequest request) throws IOException, InterruptedException {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            outcome = outcome(response.statusCode());
+            return response;
+        } finally {
+            sample.stop(Timer.builder("datadrop.oauth.requests")
+                    .description("Calls to Google OAuth endpoints")
+                    .tag("call", call)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    private static String outcome(int status) {
+        if (status < 400) {
+            return "success";
+        }
+        return status < 500 ? "client_error" : "server_error";
+    }
+}
@@ -0,0 +1,58 @@
+package com.backend.datadrop.metrics;
+
+import com.amazonaws.Request;
+import com.amazonaws.Response;
+import com.amazonaws.handlers.HandlerContextKey;
+import com.amazonaws.handlers.RequestHandler2;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every call made through the S3 client, tagged with the operation (e.g. {@code PutObject},
+ * {@code UploadPart}, {@code ListObjectsV2}) and its outcome. For streamed downloads the timer stops
+ * once the response headers arrive.
+ */
+public class S3MetricsHandler extends RequestHandler2 {
+
+    private static final HandlerContextKey<Timer.Sample> SAMPLE = new HandlerContextKey<>("datadrop.metrics.sample");
+
+    private final MeterRegistry registry;
+
+    public S3MetricsHandler(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void beforeRequest(Request<?> request) {
+        request.addHandlerContext(SAMPLE, Timer.start(registry));
+    }
+
+    @Override
+    public void afterResponse(Request<?> request, Response<?> response) {
+        stop(request, "success");
+    }
+
+    @Override
+    public void afterError(Request<?> request, Response<?> response, Exception e) {
+        stop(request, "error");
+    }
+
+    private void stop(Request<?> request, String outcome) {
+        Timer.Sample sample = request.getHandlerContext(SAMPLE);
+        if (sample == null) {
+            return;
+        }
+        sample.stop(Timer.builder("datadrop.s3.requests")
+                .description("Calls to S3")
+                .tag("operation", operation(request))
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    // GetObjectRequest -> GetObject
+    private static String operation(Request<?> request) {
+        String name = request.getOriginalRequest().getClass().getSimpleName();
+        return name.endsWith("Request") ? name.substring(0, name.length() - "Request".length()) : name;
+    }
+}
@@ -0,0 +1,74 @@
+package com.backend.datadrop.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Meters for the upload pipeline: duration, size distribution, bytes received (its rate is the
+ * upload throughput) and uploads in flight. Everything but the gauge is tagged by file type and outcome.
+ */
+@Component
+public class UploadMetrics {
+
+    public static final String STORED = "stored";
+    public static final String DEDUPLICATED = "deduplicated";
+    public static final String ERROR = "error";
+
+    private final MeterRegistry registry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public UploadMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        registry.gauge("datadrop.uploads.in.flight", inFlight);
+    }
+
+    public Timer.Sample start() {
+        inFlight.incrementAndGet();
+        return Timer.start(registry);
+    }
+
+    public void stop(Timer.Sample sample, String key, String outcome, long bytes) {
+        inFlight.decrementAndGet();
+        String fileType = fileType(key);
+        sample.stop(Timer.builder("datadrop.uploads")
+                .description("Time to stream an upload into storage")
+                .tag("file.type", fileType)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry));
+        DistributionSummary.builder("datadrop.uploads.size")
+                .description("Size of uploaded files")
+                .baseUnit("bytes")
+                .tag("file.type", fileType)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(bytes);
+        Counter.builder("datadrop.uploads.bytes")
+                .description("Bytes received by uploads")
+                .baseUnit("bytes")
+                .tag("file.type", fileType)
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment(bytes);
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    // Uploads are validated against the rule table first, which keeps this tag's values bounded
+    private static String fileType(String key) {
+        int dot = key != null ? key.lastIndexOf('.') : -1;
+        if (dot < 0 || dot < key.lastIndexOf('/') || key.length() - dot > 11) {
+            return "none";
+        }
+        return key.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+}
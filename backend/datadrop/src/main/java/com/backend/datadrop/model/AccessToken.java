@@ -8,7 +8,9 @@ public class AccessToken {
     private String accessToken;
     private String refreshToken;
     private long expiresIn;
+    private LocalDateTime expiresAt;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
 
     // Getters and Setters
     public int getId() { return id; }
@@ -21,6 +23,10 @@ public class AccessToken {
     public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
     public long getExpiresIn() { return expiresIn; }
     public void setExpiresIn(long expiresIn) { this.expiresIn = expiresIn; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 }
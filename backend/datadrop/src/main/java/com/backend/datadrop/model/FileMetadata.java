@@ -0,0 +1,44 @@
+package com.backend.datadrop.model;
+
+import java.time.LocalDateTime;
+
+public class FileMetadata {
+    private long id;
+    private String key;
+    private String storageKey;
+    private long size;
+    private long storedSize;
+    private String codec;
+    private String contentType;
+    private String owner;
+    private String contentHash;
+    private String storageClass;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+    public String getStorageKey() { return storageKey; }
+    public void setStorageKey(String storageKey) { this.storageKey = storageKey; }
+    public long getSize() { return size; }
+    public void setSize(long size) { this.size = size; }
+    public long getStoredSize() { return storedSize; }
+    public void setStoredSize(long storedSize) { this.storedSize = storedSize; }
+    public String getCodec() { return codec; }
+    public void setCodec(String codec) { this.codec = codec; }
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+    public String getStorageClass() { return storageClass; }
+    public void setStorageClass(String storageClass) { this.storageClass = storageClass; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,8 @@
+package com.backend.datadrop.model;
+
+public enum JobStatus {
+    PENDING,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,23 @@
+package com.backend.datadrop.model;
+
+import java.time.LocalDateTime;
+
+public class UploadPart {
+    private String uploadId;
+    private int partNumber;
+    private long size;
+    private String eTag;
+    private LocalDateTime createdAt;
+
+    // Getters and Setters
+    public String getUploadId() { return uploadId; }
+    public void setUploadId(String uploadId) { this.uploadId = uploadId; }
+    public int getPartNumber() { return partNumber; }
+    public void setPartNumber(int partNumber) { this.partNumber = partNumber; }
+    public long getSize() { return size; }
+    public void setSize(long size) { this.size = size; }
+    public String getETag() { return eTag; }
+    public void setETag(String eTag) { this.eTag = eTag; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,41 @@
+package com.backend.datadrop.model;
+
+import java.time.LocalDateTime;
+
+public class UploadSession {
+    private String id;
+    private String key;
+    private String storageUploadId;
+    private String contentType;
+    private String owner;
+    private long partSize;
+    private Long totalSize;
+    private UploadStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime expiresAt;
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+    public String getStorageUploadId() { return storageUploadId; }
+    public void setStorageUploadId(String storageUploadId) { this.storageUploadId = storageUploadId; }
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+    public long getPartSize() { return partSize; }
+    public void setPartSize(long partSize) { this.partSize = partSize; }
+    public Long getTotalSize() { return totalSize; }
+    public void setTotalSize(Long totalSize) { this.totalSize = totalSize; }
+    public UploadStatus getStatus() { return status; }
+    public void setStatus(UploadStatus status) { this.status = status; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
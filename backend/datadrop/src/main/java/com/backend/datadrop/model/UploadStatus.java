@@ -0,0 +1,8 @@
+package com.backend.datadrop.model;
+
+public enum UploadStatus {
+    ACTIVE,
+    COMPLETING,
+    COMPLETED,
+    ABORTED
+}
@@ -0,0 +1,135 @@
+package com.backend.datadrop.processing;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hash aggregation over {@code groupBy}. Memory grows with the number of groups, not records. Each
+ * chunk aggregates into its own instance and the partial results are merged in chunk order.
+ */
+final class Aggregator {
+
+    private static final Set<String> FUNCTIONS = Set.of("count", "sum", "min", "max", "avg");
+
+    private final List<String> groupBy;
+    private final List<TransformSpec.Aggregate> aggregates;
+    private final Map<List<Object>, Accumulator[]> groups = new LinkedHashMap<>();
+
+    Aggregator(TransformSpec spec) {
+        this.groupBy = spec.groupBy() != null ? List.copyOf(spec.groupBy()) : List.of();
+        this.aggregates = List.copyOf(spec.aggregates());
+        for (TransformSpec.Aggregate aggregate : aggregates) {
+            if (aggregate.function() == null || !FUNCTIONS.contains(aggregate.function().toLowerCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("Unknown aggregate function: " + aggregate.function());
+            }
+        }
+    }
+
+    void add(Map<String, Object> record) {
+        List<Object> key = new ArrayList<>(groupBy.size());
+        for (String field : groupBy) {
+            key.add(record.get(field));
+        }
+        Accumulator[] state = groups.computeIfAbsent(key, k -> newState());
+        for (int i = 0; i < aggregates.size(); i++) {
+            String field = aggregates.get(i).field();
+            state[i].add(field == null || field.equals("*") ? Boolean.TRUE : record.get(field));
+        }
+    }
+
+    void merge(Aggregator other) {
+        other.groups.forEach((key, state) -> {
+            Accumulator[] target = groups.computeIfAbsent(key, k -> newState());
+            for (int i = 0; i < target.length; i++) {
+                target[i].merge(state[i]);
+            }
+        });
+    }
+
+    List<Map<String, Object>> rows() {
+        List<Map<String, Object>> rows = new ArrayList<>(groups.size());
+        groups.forEach((key, state) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < groupBy.size(); i++) {
+                row.put(groupBy.get(i), key.get(i));
+            }
+            for (int i = 0; i < aggregates.size(); i++) {
+                TransformSpec.Aggregate aggregate = aggregates.get(i);
+                row.put(outputName(aggregate), state[i].result(aggregate.function().toLowerCase(Locale.ROOT)));
+            }
+            rows.add(row);
+        });
+        return rows;
+    }
+
+    private Accumulator[] newState() {
+        Accumulator[] state = new Accumulator[aggregates.size()];
+        for (int i = 0; i < state.length; i++) {
+            state[i] = new Accumulator();
+        }
+        return state;
+    }
+
+    private static String outputName(TransformSpec.Aggregate aggregate) {
+        if (aggregate.as() != null && !aggregate.as().isBlank()) {
+            return aggregate.as();
+        }
+        String field = aggregate.field() == null ? "*" : aggregate.field();
+        return field.equals("*") ? aggregate.function() : aggregate.function() + "_" + field;
+    }
+
+    private static final class Accumulator {
+        long count;
+        long numericCount;
+        BigDecimal sum = BigDecimal.ZERO;
+        Object min;
+        Object max;
+
+        void add(Object value) {
+            if (value == null) {
+                return;
+            }
+            count++;
+            BigDecimal decimal = Values.toDecimal(value);
+            if (decimal != null) {
+                sum = sum.add(decimal);
+                numericCount++;
+            }
+            if (min == null || Values.compare(value, min) < 0) {
+                min = value;
+            }
+            if (max == null || Values.compare(value, max) > 0) {
+                max = value;
+            }
+        }
+
+        void merge(Accumulator other) {
+            count += other.count;
+            numericCount += other.numericCount;
+            sum = sum.add(other.sum);
+            if (other.min != null && (min == null || Values.compare(other.min, min) < 0)) {
+                min = other.min;
+            }
+            if (other.max != null && (max == null || Values.compare(other.max, max) > 0)) {
+                max = other.max;
+            }
+        }
+
+        Object result(String function) {
+            return switch (function) {
+                case "count" -> count;
+                case "sum" -> sum;
+                case "min" -> min;
+                case "max" -> max;
+                case "avg" -> numericCount == 0 ? null : sum.divide(BigDecimal.valueOf(numericCount), MathContext.DECIMAL64);
+                default -> throw new IllegalStateException(function);
+            };
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.backend.datadrop.processing;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes records as CSV. The header is taken from the first record unless given explicitly.
+ */
+public class CsvRecordWriter implements RecordWriter {
+
+    private final Writer writer;
+    private List<String> header;
+    private boolean headerWritten;
+
+    public CsvRecordWriter(OutputStream out, List<String> header) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        this.header = header != null && !header.isEmpty() ? header : null;
+    }
+
+    @Override
+    public void write(Map<String, Object> record) throws IOException {
+        if (header == null) {
+            header = new ArrayList<>(record.keySet());
+        }
+        if (!headerWritten) {
+            writeRow(header);
+            headerWritten = true;
+        }
+        List<Object> values = new ArrayList<>(header.size());
+        for (String column : header) {
+            values.add(record.get(column));
+        }
+        writeRow(values);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (header != null && !headerWritten) {
+            writeRow(header);
+            headerWritten = true;
+        }
+        writer.flush();
+    }
+
+    private void writeRow(List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(values.get(i)));
+        }
+        writer.write('\n');
+    }
+
+    private static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
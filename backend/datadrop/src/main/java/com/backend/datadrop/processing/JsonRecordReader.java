@@ -0,0 +1,53 @@
+package com.backend.datadrop.processing;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Streaming reader for a top-level JSON array of objects or for newline-delimited JSON. Objects are
+ * bound one at a time, so the document is never loaded as a whole.
+ */
+public class JsonRecordReader implements RecordReader {
+
+    private static final TypeReference<LinkedHashMap<String, Object>> RECORD = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private Boolean inArray;
+
+    public JsonRecordReader(InputStream in, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(in);
+    }
+
+    @Override
+    public Map<String, Object> next() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (inArray == null) {
+            inArray = token == JsonToken.START_ARRAY;
+            if (inArray) {
+                token = parser.nextToken();
+            }
+        }
+        if (token == null || (inArray && token == JsonToken.END_ARRAY)) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object but found " + token);
+        }
+        return objectMapper.readValue(parser, RECORD);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
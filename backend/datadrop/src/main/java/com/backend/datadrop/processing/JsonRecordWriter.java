@@ -0,0 +1,33 @@
+package com.backend.datadrop.processing;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Writes records as one JSON array, streaming each object as it arrives.
+ */
+public class JsonRecordWriter implements RecordWriter {
+
+    private final JsonGenerator generator;
+
+    public JsonRecordWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.writeStartArray();
+    }
+
+    @Override
+    public void write(Map<String, Object> record) throws IOException {
+        generator.writeObject(record);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.writeEndArray();
+        generator.close();
+    }
+}
@@ -0,0 +1,48 @@
+package com.backend.datadrop.processing;
+
+import com.backend.datadrop.model.Job;
+import com.backend.datadrop.service.JobService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process processor used when no external processing backend is configured. {@code transform}
+ * jobs run on the built-in {@link TransformService}; every other job type is only logged, which is
+ * enough to exercise the queue end to end in development and tests.
+ */
+@Component
+@ConditionalOnProperty(name = "datadrop.jobs.processor", havingValue = "local", matchIfMissing = true)
+public class LocalProcessor implements Processor {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalProcessor.class);
+
+    private final TransformService transformService;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong processed = new AtomicLong();
+
+    public LocalProcessor(TransformService transformService, ObjectMapper objectMapper) {
+        this.transformService = transformService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void process(Job job) throws Exception {
+        if (JobService.TRANSFORM.equals(job.getType())) {
+            TransformRequest request = objectMapper.readValue(job.getPayload(), TransformRequest.class);
+            TransformStats stats = transformService.transform(job.getFileKey(), request.targetKey(), request.spec());
+            log.info("Transformed {} in job {}: {}", job.getFileKey(), job.getId(), stats);
+        } else {
+            log.info("Processing job {} ({}) for {}", job.getId(), job.getType(), job.getFileKey());
+        }
+        processed.incrementAndGet();
+    }
+
+    public long getProcessed() {
+        return processed.get();
+    }
+}
@@ -0,0 +1,33 @@
+package com.backend.datadrop.processing;
+
+import com.backend.datadrop.model.Job;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs claimed jobs. The worker pool hands over a whole batch at a time; implementations that can
+ * process several jobs in one call (e.g. a single remote invocation) should override
+ * {@link #processBatch(List)}.
+ */
+public interface Processor {
+
+    void process(Job job) throws Exception;
+
+    /**
+     * Processes {@code jobs} and returns the failures keyed by job id. Jobs missing from the
+     * returned map are treated as succeeded.
+     */
+    default Map<Long, Exception> processBatch(List<Job> jobs) {
+        Map<Long, Exception> failures = new HashMap<>();
+        for (Job job : jobs) {
+            try {
+                process(job);
+            } catch (Exception e) {
+                failures.put(job.getId(), e);
+            }
+        }
+        return failures;
+    }
+}
@@ -0,0 +1,13 @@
+package com.backend.datadrop.processing;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+public interface RecordReader extends Closeable {
+
+    /**
+     * Returns the next record, or {@code null} once the input is exhausted.
+     */
+    Map<String, Object> next() throws IOException;
+}
@@ -0,0 +1,117 @@
+package com.backend.datadrop.processing;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The per-record part of a {@link TransformSpec}: coercion, filtering and projection. Instances are
+ * immutable and shared by all chunk tasks.
+ */
+final class RecordTransform {
+
+    private final Map<String, String> types;
+    private final List<TransformSpec.Filter> filters;
+    private final List<String> select;
+
+    private RecordTransform(Map<String, String> types, List<TransformSpec.Filter> filters, List<String> select) {
+        this.types = types;
+        this.filters = filters;
+        this.select = select;
+    }
+
+    static RecordTransform compile(TransformSpec spec) {
+        Map<String, String> types = new LinkedHashMap<>();
+        if (spec.types() != null) {
+            spec.types().forEach((field, type) -> {
+                String normalized = normalizeType(type);
+                if (!Values.TYPES.contains(normalized)) {
+                    throw new IllegalArgumentException("Unknown type for " + field + ": " + type);
+                }
+                types.put(field, normalized);
+            });
+        }
+        List<TransformSpec.Filter> filters = spec.where() != null ? List.copyOf(spec.where()) : List.of();
+        for (TransformSpec.Filter filter : filters) {
+            if (filter.field() == null || filter.op() == null) {
+                throw new IllegalArgumentException("Filters need a field and an op");
+            }
+        }
+        List<String> select = spec.select() != null && !spec.select().isEmpty() ? List.copyOf(spec.select()) : null;
+        return new RecordTransform(types, filters, select);
+    }
+
+    /**
+     * Returns the transformed record, or {@code null} when a filter drops it. Values that cannot be
+     * coerced become {@code null} and are counted in {@code errors[0]}.
+     */
+    Map<String, Object> apply(Map<String, Object> record, long[] errors) {
+        for (Map.Entry<String, String> type : types.entrySet()) {
+            if (record.containsKey(type.getKey())) {
+                try {
+                    record.put(type.getKey(), Values.coerce(record.get(type.getKey()), type.getValue()));
+                } catch (RuntimeException e) {
+                    record.put(type.getKey(), null);
+                    errors[0]++;
+                }
+            }
+        }
+        for (TransformSpec.Filter filter : filters) {
+            if (!matches(filter, record.get(filter.field()))) {
+                return null;
+            }
+        }
+        if (select == null) {
+            return record;
+        }
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (String field : select) {
+            projected.put(field, record.get(field));
+        }
+        return projected;
+    }
+
+    private static boolean matches(TransformSpec.Filter filter, Object actual) {
+        Object expected = filter.value();
+        String op = filter.op().toLowerCase(Locale.ROOT);
+        switch (op) {
+            case "empty":
+                return actual == null || actual.toString().isEmpty();
+            case "notempty":
+                return actual != null && !actual.toString().isEmpty();
+            case "contains":
+                return actual != null && expected != null && actual.toString().contains(expected.toString());
+            default:
+                break;
+        }
+        if (actual == null || expected == null) {
+            return switch (op) {
+                case "eq" -> actual == expected;
+                case "ne" -> actual != expected;
+                default -> false;
+            };
+        }
+        int c = Values.compare(actual, expected);
+        return switch (op) {
+            case "eq" -> c == 0;
+            case "ne" -> c != 0;
+            case "gt" -> c > 0;
+            case "gte" -> c >= 0;
+            case "lt" -> c < 0;
+            case "lte" -> c <= 0;
+            default -> throw new IllegalArgumentException("Unknown filter op: " + filter.op());
+        };
+    }
+
+    private static String normalizeType(String type) {
+        String normalized = type == null ? "string" : type.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "int", "integer" -> "long";
+            case "float" -> "double";
+            case "number", "numeric" -> "decimal";
+            case "bool" -> "boolean";
+            default -> normalized;
+        };
+    }
+}
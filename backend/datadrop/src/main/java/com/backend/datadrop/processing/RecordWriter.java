@@ -0,0 +1,14 @@
+package com.backend.datadrop.processing;
+
+import java.io.IOException;
+import java.util.Map;
+
+public interface RecordWriter {
+
+    void write(Map<String, Object> record) throws IOException;
+
+    /**
+     * Writes any trailer and flushes, leaving the underlying stream open.
+     */
+    void finish() throws IOException;
+}
@@ -0,0 +1,127 @@
+package com.backend.datadrop.processing;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Runs a {@link TransformSpec} over a record stream. The calling thread reads records and cuts them
+ * into chunks; chunks are transformed in parallel on a {@link ForkJoinPool} and their output is
+ * written back in input order. At most {@code maxInFlight} chunks exist at any time, so heap usage
+ * depends on the chunk size, never on the input size.
+ */
+public class TransformEngine {
+
+    static final int DEFAULT_CHUNK_SIZE = 10_000;
+
+    private final ForkJoinPool pool;
+    private final int maxInFlight;
+
+    public TransformEngine(ForkJoinPool pool, int maxInFlight) {
+        this.pool = pool;
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    public TransformStats run(RecordReader reader, RecordWriter writer, TransformSpec spec) throws IOException {
+        RecordTransform transform = RecordTransform.compile(spec);
+        Aggregator total = spec.aggregating() ? new Aggregator(spec) : null;
+        int chunkSize = spec.chunkSize() != null && spec.chunkSize() > 0 ? spec.chunkSize() : DEFAULT_CHUNK_SIZE;
+
+        Deque<ForkJoinTask<ChunkResult>> inFlight = new ArrayDeque<>();
+        Totals totals = new Totals();
+        List<Map<String, Object>> chunk = new ArrayList<>(chunkSize);
+        try {
+            Map<String, Object> record;
+            while ((record = reader.next()) != null) {
+                totals.read++;
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    inFlight.add(submit(chunk, transform, spec));
+                    chunk = new ArrayList<>(chunkSize);
+                    if (inFlight.size() >= maxInFlight) {
+                        drain(inFlight.poll(), writer, total, totals);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                inFlight.add(submit(chunk, transform, spec));
+            }
+            while (!inFlight.isEmpty()) {
+                drain(inFlight.poll(), writer, total, totals);
+            }
+        } finally {
+            inFlight.forEach(task -> task.cancel(true));
+        }
+
+        if (total != null) {
+            for (Map<String, Object> row : total.rows()) {
+                writer.write(row);
+                totals.written++;
+            }
+        }
+        writer.finish();
+        return new TransformStats(totals.read, totals.written, totals.coercionErrors, totals.chunks);
+    }
+
+    private ForkJoinTask<ChunkResult> submit(List<Map<String, Object>> chunk, RecordTransform transform, TransformSpec spec) {
+        return pool.submit(() -> {
+            long[] errors = new long[1];
+            Aggregator partial = spec.aggregating() ? new Aggregator(spec) : null;
+            List<Map<String, Object>> output = partial == null ? new ArrayList<>(chunk.size()) : null;
+            for (Map<String, Object> record : chunk) {
+                Map<String, Object> transformed = transform.apply(record, errors);
+                if (transformed == null) {
+                    continue;
+                }
+                if (partial != null) {
+                    partial.add(transformed);
+                } else {
+                    output.add(transformed);
+                }
+            }
+            return new ChunkResult(output, partial, errors[0]);
+        });
+    }
+
+    private static void drain(ForkJoinTask<ChunkResult> task, RecordWriter writer, Aggregator total, Totals totals)
+            throws IOException {
+        ChunkResult result;
+        try {
+            result = task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Transform interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException("Transform failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        totals.chunks++;
+        totals.coercionErrors += result.coercionErrors();
+        if (result.partial() != null) {
+            total.merge(result.partial());
+        } else {
+            for (Map<String, Object> record : result.records()) {
+                writer.write(record);
+                totals.written++;
+            }
+        }
+    }
+
+    private record ChunkResult(List<Map<String, Object>> records, Aggregator partial, long coercionErrors) {
+    }
+
+    private static final class Totals {
+        long read;
+        long written;
+        long coercionErrors;
+        int chunks;
+    }
+}
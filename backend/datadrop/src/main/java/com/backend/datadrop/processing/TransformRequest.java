@@ -0,0 +1,10 @@
+package com.backend.datadrop.processing;
+
+/**
+ * Payload of a {@code transform} job.
+ */
+public record TransformRequest(
+        String targetKey,
+        TransformSpec spec
+) {
+}
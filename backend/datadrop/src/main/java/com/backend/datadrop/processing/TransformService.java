@@ -0,0 +1,115 @@
+package com.backend.datadrop.processing;
+
+import com.backend.datadrop.dto.UploadResult;
+import com.backend.datadrop.service.DownloadService;
+import com.backend.datadrop.service.FileCatalogService;
+import com.backend.datadrop.service.UploadService;
+import com.backend.datadrop.storage.CountingOutputStream;
+import com.backend.datadrop.storage.ObjectContent;
+import com.backend.datadrop.storage.ObjectWriter;
+import com.backend.datadrop.storage.StorageCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Streams an object out of storage, runs it through the {@link TransformEngine} and streams the result
+ * back into storage as a new object.
+ */
+@Service
+public class TransformService {
+
+    private final DownloadService downloadService;
+    private final UploadService uploadService;
+    private final FileCatalogService fileCatalogService;
+    private final ObjectMapper objectMapper;
+    private final ForkJoinPool pool;
+    private final TransformEngine engine;
+
+    public TransformService(DownloadService downloadService, UploadService uploadService,
+                            FileCatalogService fileCatalogService, ObjectMapper objectMapper,
+                            @Value("${datadrop.processing.parallelism:0}") int parallelism) {
+        this.downloadService = downloadService;
+        this.uploadService = uploadService;
+        this.fileCatalogService = fileCatalogService;
+        this.objectMapper = objectMapper;
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads);
+        this.engine = new TransformEngine(pool, threads * 2);
+    }
+
+    public TransformStats transform(String sourceKey, String targetKey, TransformSpec spec) throws IOException {
+        String inputFormat = format(spec.format(), sourceKey);
+        String outputFormat = spec.outputFormat() != null ? format(spec.outputFormat(), null) : inputFormat;
+        if (targetKey == null || targetKey.isBlank()) {
+            targetKey = defaultTargetKey(sourceKey, outputFormat);
+        }
+        String contentType = outputFormat.equals("csv") ? "text/csv" : "application/json";
+
+        ObjectContent content = downloadService.open(fileCatalogService.resolveStorageKey(sourceKey), 0, -1);
+        StorageCodec codec = uploadService.codecFor(targetKey);
+        ObjectWriter out = uploadService.openWriter(targetKey, contentType, codec);
+        CountingOutputStream encoded = null;
+        TransformStats stats;
+        try (RecordReader reader = reader(inputFormat, downloadService.openDecoded(content))) {
+            encoded = new CountingOutputStream(codec.encode(StreamUtils.nonClosing(out)));
+            stats = engine.run(reader, writer(outputFormat, encoded, spec), spec);
+            encoded.close();
+        } catch (IOException | RuntimeException e) {
+            content.abort();
+            out.abort();
+            throw e;
+        } finally {
+            content.close();
+        }
+        out.close();
+
+        fileCatalogService.record(new UploadResult(targetKey, targetKey, encoded.getCount(), out.getBytesWritten(),
+                codec.getName(), out.getETag(), null, false), contentType, null);
+        return stats;
+    }
+
+    private RecordReader reader(String format, InputStream in) throws IOException {
+        return format.equals("csv") ? new CsvRecordReader(in) : new JsonRecordReader(in, objectMapper);
+    }
+
+    private RecordWriter writer(String format, OutputStream out, TransformSpec spec) throws IOException {
+        if (format.equals("csv")) {
+            return new CsvRecordWriter(out, spec.aggregating() ? null : spec.select());
+        }
+        return new JsonRecordWriter(out, objectMapper);
+    }
+
+    private static String format(String format, String key) {
+        String value = format;
+        if ((value == null || value.isBlank()) && key != null && key.contains(".")) {
+            value = key.substring(key.lastIndexOf('.') + 1);
+        }
+        value = value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+        return switch (value) {
+            case "csv" -> "csv";
+            case "json", "ndjson", "jsonl" -> "json";
+            default -> throw new IllegalArgumentException("Unsupported format: " + value);
+        };
+    }
+
+    // data/sales.csv -> processed/data/sales.json
+    private static String defaultTargetKey(String sourceKey, String outputFormat) {
+        int dot = sourceKey.lastIndexOf('.');
+        String base = dot > sourceKey.lastIndexOf('/') ? sourceKey.substring(0, dot) : sourceKey;
+        return "processed/" + base + "." + outputFormat;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,49 @@
+package com.backend.datadrop.processing;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Describes a transform. Steps run in a fixed order: {@code types} coerces values, {@code where}
+ * drops records, then either {@code groupBy}/{@code aggregates} summarise the records or
+ * {@code select} projects them. Every field is optional.
+ *
+ * @param format       input format ({@code csv} or {@code json}); inferred from the file extension when empty
+ * @param outputFormat output format; defaults to the input format
+ * @param select       fields to keep, in output order
+ * @param where        filters that must all match
+ * @param types        field name to type ({@code string}, {@code long}, {@code double}, {@code decimal},
+ *                     {@code boolean}, {@code date})
+ * @param groupBy      fields to group by when aggregating
+ * @param aggregates   aggregates computed per group
+ * @param chunkSize    records per parallel chunk
+ */
+public record TransformSpec(
+        String format,
+        String outputFormat,
+        List<String> select,
+        List<Filter> where,
+        Map<String, String> types,
+        List<String> groupBy,
+        List<Aggregate> aggregates,
+        Integer chunkSize
+) {
+
+    /**
+     * @param op one of {@code eq}, {@code ne}, {@code gt}, {@code gte}, {@code lt}, {@code lte},
+     *           {@code contains}, {@code empty}, {@code notEmpty}
+     */
+    public record Filter(String field, String op, Object value) {
+    }
+
+    /**
+     * @param function one of {@code count}, {@code sum}, {@code min}, {@code max}, {@code avg}
+     * @param as       output field name; defaults to {@code function_field}
+     */
+    public record Aggregate(String function, String field, String as) {
+    }
+
+    public boolean aggregating() {
+        return aggregates != null && !aggregates.isEmpty();
+    }
+}
@@ -0,0 +1,9 @@
+package com.backend.datadrop.processing;
+
+public record TransformStats(
+        long recordsRead,
+        long recordsWritten,
+        long coercionErrors,
+        int chunks
+) {
+}
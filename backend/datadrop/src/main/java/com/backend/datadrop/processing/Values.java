@@ -0,0 +1,77 @@
+package com.backend.datadrop.processing;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Type coercion and comparison rules shared by filters and aggregates.
+ */
+final class Values {
+
+    static final Set<String> TYPES = Set.of("string", "long", "double", "decimal", "boolean", "date");
+
+    private Values() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code value} cannot be represented as {@code type}
+     */
+    static Object coerce(Object value, String type) {
+        if (value == null) {
+            return null;
+        }
+        if (type.equals("string")) {
+            return value.toString();
+        }
+        String text = value.toString().trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        return switch (type) {
+            case "long" -> value instanceof Long ? value : Long.parseLong(text);
+            case "double" -> value instanceof Double ? value : Double.parseDouble(text);
+            case "decimal" -> value instanceof BigDecimal ? value : new BigDecimal(text);
+            case "boolean" -> parseBoolean(text);
+            case "date" -> value instanceof LocalDate ? value : LocalDate.parse(text);
+            default -> throw new IllegalArgumentException("Unknown type: " + type);
+        };
+    }
+
+    static BigDecimal toDecimal(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        try {
+            return new BigDecimal(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Compares numerically when either side is a number and both parse as one, otherwise as text.
+     */
+    static int compare(Object a, Object b) {
+        if (a instanceof Number || b instanceof Number) {
+            BigDecimal left = toDecimal(a);
+            BigDecimal right = toDecimal(b);
+            if (left != null && right != null) {
+                return left.compareTo(right);
+            }
+        }
+        return a.toString().compareTo(b.toString());
+    }
+
+    private static Boolean parseBoolean(String text) {
+        return switch (text.toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "y", "1" -> Boolean.TRUE;
+            case "false", "no", "n", "0" -> Boolean.FALSE;
+            default -> throw new IllegalArgumentException("Not a boolean: " + text);
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.dto.FileUploadStatus;
+import com.backend.datadrop.dto.RecordedUpload;
+import com.backend.datadrop.dto.UploadResult;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Uploads many files at once. Each file runs on its own virtual thread, while a shared semaphore
+ * caps how many S3 uploads are in flight across all batches. A name that occurs more than once in a
+ * batch gets a suffixed key for every repeat, so the parallel uploads never compete for one key.
+ */
+@Service
+public class BatchUploadService {
+
+    private final UploadService uploadService;
+    private final FileCatalogService fileCatalogService;
+    private final UrlService urlService;
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public BatchUploadService(UploadService uploadService, FileCatalogService fileCatalogService, UrlService urlService,
+                              @Value("${datadrop.upload.batch-parallelism:8}") int parallelism) {
+        this.uploadService = uploadService;
+        this.fileCatalogService = fileCatalogService;
+        this.urlService = urlService;
+        this.permits = new Semaphore(Math.max(1, parallelism));
+    }
+
+    public List<FileUploadStatus> uploadAll(List<MultipartFile> files, String owner) {
+        List<Future<FileUploadStatus>> futures = new ArrayList<>(files.size());
+        Set<String> names = new HashSet<>();
+        for (MultipartFile file : files) {
+            FileUploadStatus rejection = validate(file);
+            if (rejection != null) {
+                futures.add(CompletableFuture.completedFuture(rejection));
+                continue;
+            }
+            String name = file.getOriginalFilename();
+            String key = names.add(name) ? name : UploadService.uniqueKey(name);
+            futures.add(executor.submit(() -> upload(file, key, owner)));
+        }
+
+        List<FileUploadStatus> results = new ArrayList<>(files.size());
+        for (int i = 0; i < futures.size(); i++) {
+            String name = files.get(i).getOriginalFilename();
+            try {
+                results.add(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                results.add(FileUploadStatus.failure(name, "Upload interrupted"));
+            } catch (ExecutionException e) {
+                results.add(FileUploadStatus.failure(name, e.getCause().getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private FileUploadStatus validate(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        if (file.isEmpty()) {
+            return FileUploadStatus.failure(name, "No file uploaded");
+        }
+        String extension = UploadService.extensionOf(name);
+        if (!urlService.isFileTypeAllowed(extension)) {
+            return FileUploadStatus.failure(name, "Invalid file type: " + extension);
+        }
+        return null;
+    }
+
+    private FileUploadStatus upload(MultipartFile file, String key, String owner) throws InterruptedException {
+        String name = file.getOriginalFilename();
+        permits.acquire();
+        try {
+            UploadResult result = uploadService.upload(key, file.getInputStream(), file.getContentType());
+            RecordedUpload recorded = fileCatalogService.recordAndEnqueue(result, file.getContentType(), owner);
+            return FileUploadStatus.success(name, result, recorded.jobId());
+        } catch (Exception e) {
+            return FileUploadStatus.failure(name, "File upload failed: " + e.getMessage());
+        } finally {
+            permits.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
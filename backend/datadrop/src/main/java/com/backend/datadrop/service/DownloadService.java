@@ -0,0 +1,73 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.storage.ObjectContent;
+import com.backend.datadrop.storage.ObjectInfo;
+import com.backend.datadrop.storage.StorageBackend;
+import com.backend.datadrop.storage.StorageCodec;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+@Service
+public class DownloadService {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final StorageBackend storage;
+
+    public DownloadService(StorageBackend storage) {
+        this.storage = storage;
+    }
+
+    public ObjectInfo stat(String key) {
+        return storage.stat(key);
+    }
+
+    /**
+     * Opens the object body, limited to the inclusive byte range {@code start..end} when {@code end >= 0}.
+     */
+    public ObjectContent open(String key, long start, long end) {
+        return storage.open(key, start, end);
+    }
+
+    public void copy(ObjectContent content, OutputStream out) throws IOException {
+        copy(content, out, false);
+    }
+
+    /**
+     * Copies the object body to {@code out}, undoing the storage codec recorded in its
+     * {@code Content-Encoding} when {@code decode} is set. Stored bytes are handed to the backend's
+     * own transfer; decoded ones go through a fixed-size buffer. If the client goes away the
+     * content is aborted instead of draining the rest of the object.
+     */
+    public void copy(ObjectContent content, OutputStream out, boolean decode) throws IOException {
+        try {
+            if (!decode) {
+                content.transferTo(out);
+                return;
+            }
+            InputStream source = openDecoded(content);
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int n;
+            while ((n = source.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            out.flush();
+        } catch (IOException | RuntimeException e) {
+            content.abort();
+            throw e;
+        } finally {
+            content.close();
+        }
+    }
+
+    /**
+     * Returns the object body with its storage codec undone.
+     */
+    public InputStream openDecoded(ObjectContent content) throws IOException {
+        StorageCodec codec = StorageCodec.fromContentEncoding(content.info().contentEncoding());
+        return codec.decode(content.stream());
+    }
+}
@@ -0,0 +1,173 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.dto.ChangeEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans {@link ChangeEvent}s out to Server-Sent Events subscribers. Events get increasing ids and the
+ * most recent ones are kept, so a reconnecting client that sends {@code Last-Event-ID} receives what
+ * it missed, as long as that fits in a subscriber's queue.
+ * <p>
+ * Idle subscribers hold no thread: connections are async servlet requests, and events are written
+ * by short-lived virtual threads, one drain at a time per subscriber so ordering is kept.
+ */
+@Service
+public class EventStreamService {
+
+    public static final String RESET = "reset";
+
+    private final Deque<StreamedEvent> recent = new ArrayDeque<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final int replaySize;
+    private final int maxQueued;
+    private final long timeoutMillis;
+    private long sequence;
+
+    public EventStreamService(@Value("${datadrop.events.replay-size:1000}") int replaySize,
+                              @Value("${datadrop.events.max-queued:256}") int maxQueued,
+                              @Value("${datadrop.events.timeout:PT30M}") Duration timeout) {
+        this.replaySize = replaySize;
+        this.maxQueued = maxQueued;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    // Delivered after commit, so subscribers never see changes that were rolled back
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEvent event) {
+        synchronized (recent) {
+            StreamedEvent streamed = new StreamedEvent(++sequence, event.type(), event.data());
+            recent.addLast(streamed);
+            if (recent.size() > replaySize) {
+                recent.removeFirst();
+            }
+            subscriptions.forEach(subscription -> subscription.offer(streamed));
+        }
+    }
+
+    /**
+     * Opens a stream, first replaying the events after {@code lastEventId}. If those are no longer
+     * retained, or are more than a subscriber may have queued, the client gets a {@value #RESET} event
+     * and should refetch its state.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = newEmitter();
+        Subscription subscription = new Subscription(emitter);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscriptions.remove(subscription));
+        synchronized (recent) {
+            if (lastEventId != null) {
+                long oldest = recent.isEmpty() ? sequence + 1 : recent.getFirst().id();
+                // A replay over the queue limit would drop the client, which would then reconnect with the same id
+                if (lastEventId < oldest - 1 || lastEventId > sequence || sequence - lastEventId > maxQueued) {
+                    subscription.offer(new StreamedEvent(sequence, RESET, Map.of()));
+                } else {
+                    recent.stream()
+                            .filter(event -> event.id() > lastEventId)
+                            .forEach(subscription::offer);
+                }
+            }
+            subscriptions.add(subscription);
+        }
+        return emitter;
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    // Keeps idle connections open through proxies and notices clients that went away
+    @Scheduled(fixedDelayString = "${datadrop.events.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        subscriptions.forEach(subscription -> subscription.offer(null));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+        sender.shutdown();
+    }
+
+    private record StreamedEvent(long id, String type, Object data) {
+    }
+
+    private final class Subscription {
+
+        private final SseEmitter emitter;
+        // null entries are heartbeats
+        private final Queue<SseEmitter.SseEventBuilder> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscription(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(StreamedEvent event) {
+            // A client that cannot keep up is dropped; it reconnects and replays from its last id
+            if (queued.incrementAndGet() > maxQueued) {
+                subscriptions.remove(this);
+                emitter.complete();
+                return;
+            }
+            queue.add(event == null
+                    ? SseEmitter.event().comment("heartbeat")
+                    : SseEmitter.event()
+                            .id(Long.toString(event.id()))
+                            .name(event.type())
+                            .data(event.data(), MediaType.APPLICATION_JSON));
+            drain();
+        }
+
+        private void drain() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::send);
+            }
+        }
+
+        private void send() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = queue.poll()) != null) {
+                    queued.decrementAndGet();
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                subscriptions.remove(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An event may have been queued after the loop ended but before the flag was cleared
+            if (!queue.isEmpty()) {
+                drain();
+            }
+        }
+    }
+}
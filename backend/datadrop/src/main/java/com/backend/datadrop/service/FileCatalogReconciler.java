@@ -0,0 +1,30 @@
+package com.backend.datadrop.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "datadrop.catalog.reconcile.enabled", havingValue = "true", matchIfMissing = true)
+public class FileCatalogReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(FileCatalogReconciler.class);
+
+    private final FileCatalogService fileCatalogService;
+
+    public FileCatalogReconciler(FileCatalogService fileCatalogService) {
+        this.fileCatalogService = fileCatalogService;
+    }
+
+    @Scheduled(initialDelayString = "${datadrop.catalog.reconcile.initial-delay:PT1M}",
+            fixedDelayString = "${datadrop.catalog.reconcile.interval:PT15M}")
+    public void reconcile() {
+        try {
+            fileCatalogService.reconcile();
+        } catch (RuntimeException e) {
+            log.warn("File catalog reconciliation failed", e);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.dao.FileDao;
+import com.backend.datadrop.dto.ChangeEvent;
+import com.backend.datadrop.dto.FileInfo;
+import com.backend.datadrop.dto.FilePage;
+import com.backend.datadrop.dto.RecordedUpload;
+import com.backend.datadrop.dto.UploadResult;
+import com.backend.datadrop.model.FileMetadata;
+import com.backend.datadrop.model.Job;
+import com.backend.datadrop.storage.ObjectInfo;
+import com.backend.datadrop.storage.StorageBackend;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Postgres catalog of stored objects. Listings are answered from the {@code files} table;
+ * the storage backend itself is only read by {@link #reconcile()}.
+ */
+@Service
+public class FileCatalogService {
+
+    private static final Logger log = LoggerFactory.getLogger(FileCatalogService.class);
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final FileDao fileDao;
+    private final ResourceVersions versions;
+    private final StorageBackend storage;
+    private final ObjectMapper objectMapper;
+    private final JobService jobService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public FileCatalogService(FileDao fileDao, ResourceVersions versions, StorageBackend storage, ObjectMapper objectMapper,
+                              JobService jobService, ApplicationEventPublisher eventPublisher) {
+        this.fileDao = fileDao;
+        this.versions = versions;
+        this.storage = storage;
+        this.objectMapper = objectMapper;
+        this.jobService = jobService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Records an upload and, unless its content was already known, queues it for processing in the
+     * same transaction so no stored file is ever left without a job.
+     */
+    @Transactional
+    public RecordedUpload recordAndEnqueue(UploadResult upload, String contentType, String owner) {
+        FileMetadata file = record(upload, contentType, owner);
+        if (upload.deduplicated()) {
+            return new RecordedUpload(file, null);
+        }
+        Job job = jobService.enqueue(JobService.PROCESS_FILE, upload.key());
+        return new RecordedUpload(file, job.getId());
+    }
+
+    public FileMetadata record(UploadResult upload, String contentType, String owner) {
+        FileMetadata file = new FileMetadata();
+        file.setKey(upload.key());
+        file.setStorageKey(upload.storageKey());
+        file.setSize(upload.size());
+        file.setStoredSize(upload.storedSize());
+        file.setCodec(upload.codec());
+        file.setContentType(contentType);
+        file.setOwner(owner);
+        file.setContentHash(upload.sha256());
+        file.setStorageClass("STANDARD");
+        FileMetadata saved = fileDao.save(file);
+        versions.bump(ResourceVersions.FILES);
+        eventPublisher.publishEvent(new ChangeEvent(ChangeEvent.FILE_UPLOADED, toFileInfo(saved)));
+        return saved;
+    }
+
+    /**
+     * Maps a catalog key to the object that holds its bytes. Keys unknown to the catalog are
+     * assumed to name the object directly.
+     */
+    public String resolveStorageKey(String key) {
+        return fileDao.findByKey(key)
+                .map(file -> file.getStorageKey() != null ? file.getStorageKey() : file.getKey())
+                .orElse(key);
+    }
+
+    /**
+     * ETag of the catalog, the same on every instance. It changes with every upload and with every
+     * reconciliation run that found the catalog out of date. Read it before the listing.
+     */
+    public String getGenerationTag() {
+        return versions.eTag(ResourceVersions.FILES);
+    }
+
+    public Optional<FileMetadata> find(String key) {
+        return fileDao.findByKey(key);
+    }
+
+    /**
+     * Whether {@code key} is in the catalog or reserved by an upload session, i.e. must not be written.
+     */
+    public boolean isKeyTaken(String key) {
+        return fileDao.isKeyTaken(key);
+    }
+
+    @Transactional(readOnly = true)
+    public FilePage listPage(String prefix, Integer limit, String continuationToken) {
+        int pageSize = (limit == null || limit <= 0) ? MAX_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        // Fetch one extra row to find out whether another page exists
+        List<FileMetadata> rows = fileDao.findPage(prefix, decodeToken(continuationToken), pageSize + 1);
+
+        boolean truncated = rows.size() > pageSize;
+        List<FileMetadata> page = truncated ? rows.subList(0, pageSize) : rows;
+        String nextToken = truncated ? encodeToken(page.get(page.size() - 1).getKey()) : null;
+
+        return new FilePage(page.stream().map(FileCatalogService::toFileInfo).toList(), nextToken, truncated);
+    }
+
+    /**
+     * Writes every catalogued object under {@code prefix} as a JSON array, one keyset page at a time,
+     * so only a single page of rows is held in memory regardless of catalog size.
+     */
+    public void writeJsonArray(String prefix, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            String afterKey = null;
+            List<FileMetadata> rows;
+            do {
+                rows = fileDao.findPage(prefix, afterKey, MAX_PAGE_SIZE);
+                for (FileMetadata row : rows) {
+                    generator.writeObject(toFileInfo(row));
+                }
+                generator.flush();
+                afterKey = rows.isEmpty() ? null : rows.get(rows.size() - 1).getKey();
+            } while (rows.size() == MAX_PAGE_SIZE);
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Walks the whole storage backend and brings the catalog in line with it: objects missing from the
+     * catalog are added, sizes are refreshed and rows whose object no longer exists are removed.
+     */
+    public void reconcile() {
+        // Uploads stamp verified_at with the database clock, so the run must be timed by it as well
+        LocalDateTime runStartedAt = fileDao.now();
+        long seen = 0;
+        long changed = 0;
+        try (Stream<ObjectInfo> objects = storage.list(null)) {
+            Iterator<ObjectInfo> iterator = objects.iterator();
+            List<FileMetadata> page = new ArrayList<>(MAX_PAGE_SIZE);
+            while (iterator.hasNext()) {
+                page.add(fromObject(iterator.next()));
+                if (page.size() == MAX_PAGE_SIZE || !iterator.hasNext()) {
+                    changed += fileDao.saveVerified(page, runStartedAt);
+                    seen += page.size();
+                    page.clear();
+                }
+            }
+        }
+
+        int removed = fileDao.deleteNotVerifiedSince(runStartedAt);
+        if (changed > 0 || removed > 0) {
+            versions.bump(ResourceVersions.FILES);
+        }
+        log.info("Reconciled file catalog with {}: {} objects, {} stale rows removed", storage.getLocation(), seen, removed);
+    }
+
+    private static FileInfo toFileInfo(FileMetadata file) {
+        return new FileInfo(file.getKey(), file.getSize(), file.getStoredSize(), file.getCodec(),
+                file.getUpdatedAt() != null ? Timestamp.valueOf(file.getUpdatedAt()) : null,
+                file.getStorageClass());
+    }
+
+    private static FileMetadata fromObject(ObjectInfo object) {
+        FileMetadata file = new FileMetadata();
+        file.setKey(object.key());
+        file.setSize(object.size());
+        file.setStoredSize(object.size());
+        file.setStorageClass(object.storageClass());
+        if (object.lastModified() != null) {
+            file.setUpdatedAt(LocalDateTime.ofInstant(object.lastModified(), ZoneId.systemDefault()));
+        }
+        return file;
+    }
+
+    private static String encodeToken(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid continuation token");
+        }
+    }
+}
@@ -1,42 +1,61 @@
 package com.backend.datadrop.service;
 
 import com.backend.datadrop.dao.UserDao;
-import com.backend.datadrop.dao.AccessTokenDao;
 import com.backend.datadrop.model.User;
-import com.backend.datadrop.model.AccessToken;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 public class GoogleAuthService {
 
     private final UserDao userDao;
-    private final AccessTokenDao accessTokenDao;
+    private final TokenService tokenService;
+    // googleId -> user, least recently used entries are dropped once the cache is full
+    private final Map<String, CachedUser> users;
+    private final long userCacheTtlNanos;
 
-    public GoogleAuthService(UserDao userDao, AccessTokenDao accessTokenDao) {
+    public GoogleAuthService(UserDao userDao, TokenService tokenService,
+                             @Value("${datadrop.auth.user-cache-size:10000}") int userCacheSize,
+                             @Value("${datadrop.auth.user-cache-ttl:PT5M}") Duration userCacheTtl) {
         this.userDao = userDao;
-        this.accessTokenDao = accessTokenDao;
+        this.tokenService = tokenService;
+        this.userCacheTtlNanos = userCacheTtl.toNanos();
+        this.users = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                return size() > userCacheSize;
+            }
+        });
     }
 
-    @Transactional
+    /**
+     * Returning users whose profile has not changed are answered from memory; everyone else is
+     * written with a single upsert. Cached users are written again after {@code user-cache-ttl}, so a
+     * row changed by another instance is corrected on a later login.
+     */
     public User saveOrUpdateUser(String googleId, String name, String email, String accessToken, String refreshToken, long expiresIn) {
-        User user = userDao.findByGoogleId(googleId)
-                .orElseGet(() -> {
-                    User newUser = new User();
-                    newUser.setGoogleId(googleId);
-                    newUser.setName(name);
-                    newUser.setEmail(email);
-                    return userDao.save(newUser);
-                });
+        CachedUser cached = users.get(googleId);
+        User user = cached != null && System.nanoTime() - cached.cachedAt() < userCacheTtlNanos ? cached.user() : null;
+        if (user == null || !Objects.equals(user.getName(), name) || !Objects.equals(user.getEmail(), email)) {
+            User newUser = new User();
+            newUser.setGoogleId(googleId);
+            newUser.setName(name);
+            newUser.setEmail(email);
+            user = userDao.upsert(newUser);
+            users.put(googleId, new CachedUser(user, System.nanoTime()));
+        }
 
         // Save Access Token
-        AccessToken token = new AccessToken();
-        token.setUserId(user.getId());
-        token.setAccessToken(accessToken);
-        token.setRefreshToken(refreshToken);
-        token.setExpiresIn(expiresIn);
-
-        accessTokenDao.save(token);
+        tokenService.store(user.getId(), accessToken, refreshToken, expiresIn);
         return user;
     }
+
+    private record CachedUser(User user, long cachedAt) {
+    }
 }
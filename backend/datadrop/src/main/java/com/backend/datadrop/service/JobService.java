@@ -0,0 +1,154 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.dao.JobDao;
+import com.backend.datadrop.dto.ChangeEvent;
+import com.backend.datadrop.dto.JobStatusEvent;
+import com.backend.datadrop.model.Job;
+import com.backend.datadrop.model.JobStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Service
+public class JobService {
+
+    public static final String PROCESS_FILE = "process-file";
+    public static final String TRANSFORM = "transform";
+
+    private static final Logger log = LoggerFactory.getLogger(JobService.class);
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final JobDao jobDao;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxAttempts;
+    private final Duration retryBaseDelay;
+    private final Duration retryMaxDelay;
+
+    public JobService(JobDao jobDao, ApplicationEventPublisher eventPublisher,
+                      @Value("${datadrop.jobs.max-attempts:5}") int maxAttempts,
+                      @Value("${datadrop.jobs.retry-base-delay:PT10S}") Duration retryBaseDelay,
+                      @Value("${datadrop.jobs.retry-max-delay:PT10M}") Duration retryMaxDelay) {
+        this.jobDao = jobDao;
+        this.eventPublisher = eventPublisher;
+        this.maxAttempts = maxAttempts;
+        this.retryBaseDelay = retryBaseDelay;
+        this.retryMaxDelay = retryMaxDelay;
+    }
+
+    public Job enqueue(String type, String fileKey) {
+        return enqueue(type, fileKey, null);
+    }
+
+    public Job enqueue(String type, String fileKey, String payload) {
+        Job job = new Job();
+        job.setType(type);
+        job.setFileKey(fileKey);
+        job.setPayload(payload);
+        job.setMaxAttempts(maxAttempts);
+        Job created = jobDao.create(job);
+        publishStatus(created, JobStatus.PENDING);
+        return created;
+    }
+
+    public Optional<Job> findById(long id) {
+        return jobDao.findById(id);
+    }
+
+    public List<Job> claim(String workerId, int limit) {
+        List<Job> claimed = jobDao.claim(workerId, limit);
+        claimed.forEach(job -> publishStatus(job, JobStatus.RUNNING));
+        return claimed;
+    }
+
+    /**
+     * Moves the lock of jobs that {@code workerId} is still running to now, so
+     * {@link #requeueStale(Duration)} only takes jobs whose worker stopped renewing them.
+     *
+     * @return the number of jobs whose lock was renewed
+     */
+    public int renewLocks(String workerId, List<Long> ids) {
+        return ids.isEmpty() ? 0 : jobDao.renewLocks(workerId, ids);
+    }
+
+    /**
+     * Stores the outcome of a processed batch. Failed jobs are rescheduled with exponential backoff
+     * until they run out of attempts. Jobs whose lock expired in the meantime belong to whoever
+     * claimed them next, so their outcome is dropped.
+     */
+    public void complete(List<Job> batch, Map<Long, Exception> failures) {
+        List<Job> succeeded = new ArrayList<>();
+        for (Job job : batch) {
+            Exception failure = failures.get(job.getId());
+            if (failure == null) {
+                succeeded.add(job);
+            } else if (job.getAttempts() < job.getMaxAttempts()) {
+                if (jobDao.markForRetry(job.getId(), job.getLockedBy(), retryDelay(job.getAttempts()), describe(failure))) {
+                    publishStatus(job, JobStatus.PENDING);
+                } else {
+                    lostLock(job);
+                }
+            } else if (jobDao.markFailed(job.getId(), job.getLockedBy(), describe(failure))) {
+                publishStatus(job, JobStatus.FAILED);
+            } else {
+                lostLock(job);
+            }
+        }
+        if (!succeeded.isEmpty()) {
+            // Jobs of one batch are claimed together, so they share a worker id
+            List<Long> updated = jobDao.markSucceeded(succeeded.get(0).getLockedBy(),
+                    succeeded.stream().map(Job::getId).toList());
+            for (Job job : succeeded) {
+                if (updated.contains(job.getId())) {
+                    publishStatus(job, JobStatus.SUCCEEDED);
+                } else {
+                    lostLock(job);
+                }
+            }
+        }
+    }
+
+    /**
+     * Hands jobs locked for longer than {@code lockTimeout} back to the queue, or fails them if they
+     * have used up their attempts.
+     *
+     * @return the number of jobs requeued or failed
+     */
+    public int requeueStale(Duration lockTimeout) {
+        List<Job> stale = jobDao.requeueStale(lockTimeout);
+        stale.forEach(job -> publishStatus(job, job.getStatus()));
+        return stale.size();
+    }
+
+    // base * 2^(attempt - 1), capped, with up to 20% jitter so retries from a burst spread out
+    Duration retryDelay(int attempt) {
+        long base = retryBaseDelay.toMillis();
+        long delay = base << Math.min(Math.max(attempt - 1, 0), 20);
+        delay = Math.min(delay, retryMaxDelay.toMillis());
+        long jitter = (long) (delay * 0.2 * ThreadLocalRandom.current().nextDouble());
+        return Duration.ofMillis(delay + jitter);
+    }
+
+    private static void lostLock(Job job) {
+        log.warn("Job {} was requeued while {} ran it; its outcome is dropped", job.getId(), job.getLockedBy());
+    }
+
+    private void publishStatus(Job job, JobStatus status) {
+        eventPublisher.publishEvent(new ChangeEvent(ChangeEvent.JOB_STATUS,
+                new JobStatusEvent(job.getId(), job.getType(), job.getFileKey(), status)));
+    }
+
+    private static String describe(Exception e) {
+        String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
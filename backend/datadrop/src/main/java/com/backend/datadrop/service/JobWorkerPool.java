@@ -0,0 +1,143 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.model.Job;
+import com.backend.datadrop.processing.Processor;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Claims pending jobs from Postgres and runs them on a fixed number of workers. A batch is only
+ * claimed when a worker is free, so a slow processor leaves jobs in the table for other instances
+ * instead of piling them up in memory. Locks of running jobs are renewed well within the lock
+ * timeout, so only jobs of a worker that stopped are requeued, however long a batch takes.
+ */
+@Component
+@ConditionalOnProperty(name = "datadrop.jobs.enabled", havingValue = "true", matchIfMissing = true)
+public class JobWorkerPool {
+
+    private static final Logger log = LoggerFactory.getLogger(JobWorkerPool.class);
+
+    private final JobService jobService;
+    private final Processor processor;
+    private final int batchSize;
+    private final Duration lockTimeout;
+    private final Semaphore freeWorkers;
+    private final ExecutorService workers;
+    private final String workerId;
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+    public JobWorkerPool(JobService jobService, Processor processor,
+                         @Value("${datadrop.jobs.workers:4}") int workerCount,
+                         @Value("${datadrop.jobs.batch-size:10}") int batchSize,
+                         @Value("${datadrop.jobs.lock-timeout:PT15M}") Duration lockTimeout) {
+        this.jobService = jobService;
+        this.processor = processor;
+        this.batchSize = Math.max(1, batchSize);
+        this.lockTimeout = lockTimeout;
+        this.freeWorkers = new Semaphore(Math.max(1, workerCount));
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workerCount));
+        this.workerId = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Scheduled(fixedDelayString = "${datadrop.jobs.poll-interval:PT1S}")
+    public void poll() {
+        while (freeWorkers.tryAcquire()) {
+            List<Job> batch;
+            try {
+                batch = jobService.claim(workerId, batchSize);
+            } catch (RuntimeException e) {
+                freeWorkers.release();
+                log.warn("Claiming jobs failed", e);
+                return;
+            }
+            if (batch.isEmpty()) {
+                freeWorkers.release();
+                return;
+            }
+            workers.execute(() -> {
+                try {
+                    run(batch);
+                } finally {
+                    freeWorkers.release();
+                }
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${datadrop.jobs.lock-renewal-interval:PT1M}")
+    public void renewLocks() {
+        List<Long> ids = List.copyOf(running);
+        try {
+            int renewed = jobService.renewLocks(workerId, ids);
+            if (renewed < ids.size()) {
+                log.warn("{} running jobs lost their lock before it was renewed", ids.size() - renewed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Renewing job locks failed", e);
+        }
+    }
+
+    // Jobs whose worker died keep their RUNNING lock; hand them back to the queue after the timeout
+    @Scheduled(fixedDelayString = "${datadrop.jobs.requeue-interval:PT1M}")
+    public void requeueStale() {
+        try {
+            int requeued = jobService.requeueStale(lockTimeout);
+            if (requeued > 0) {
+                log.warn("Requeued or failed {} jobs whose worker stopped responding", requeued);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Requeueing stale jobs failed", e);
+        }
+    }
+
+    private void run(List<Job> batch) {
+        List<Long> ids = batch.stream().map(Job::getId).toList();
+        running.addAll(ids);
+        Map<Long, Exception> failures;
+        try {
+            failures = processor.processBatch(batch);
+        } catch (RuntimeException e) {
+            failures = batch.stream().collect(Collectors.toMap(Job::getId, job -> e));
+        } finally {
+            ids.forEach(running::remove);
+        }
+        try {
+            jobService.complete(batch, failures);
+        } catch (RuntimeException e) {
+            // The jobs stay RUNNING and are picked up again once their lock times out
+            log.error("Storing the outcome of {} jobs failed", batch.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "datadrop";
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.dto.PresignedUrl;
+import com.backend.datadrop.dto.RecordedUpload;
+import com.backend.datadrop.dto.UploadResult;
+import com.backend.datadrop.storage.ObjectInfo;
+import com.backend.datadrop.storage.StorageBackend;
+import com.backend.datadrop.storage.StorageCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Issues short-lived presigned URLs so clients move file bytes directly to and from storage;
+ * the API only sees the metadata. Only backends clients can reach themselves (S3) support this.
+ */
+@Service
+public class PresignService {
+
+    private final StorageBackend storage;
+    private final FileCatalogService fileCatalogService;
+    private final Duration expiry;
+
+    public PresignService(StorageBackend storage, FileCatalogService fileCatalogService,
+                          @Value("${datadrop.presign.expiry:PT15M}") Duration expiry) {
+        this.storage = storage;
+        this.fileCatalogService = fileCatalogService;
+        this.expiry = expiry;
+    }
+
+    public PresignedUrl presignUpload(String key, String contentType) {
+        Instant expiresAt = Instant.now().plus(expiry);
+        return new PresignedUrl(key, HttpMethod.PUT.name(),
+                storage.presign(key, HttpMethod.PUT, contentType, expiresAt).toString(), expiresAt);
+    }
+
+    public PresignedUrl presignDownload(String key) {
+        Instant expiresAt = Instant.now().plus(expiry);
+        String storageKey = fileCatalogService.resolveStorageKey(key);
+        return new PresignedUrl(key, HttpMethod.GET.name(),
+                storage.presign(storageKey, HttpMethod.GET, null, expiresAt).toString(), expiresAt);
+    }
+
+    /**
+     * Records an object the client uploaded through a presigned URL. The object is looked up in storage
+     * first, so only uploads that really happened end up in the catalog.
+     */
+    public RecordedUpload complete(String key, String owner) {
+        ObjectInfo object = storage.stat(key);
+        // Presigned uploads bypass the storage codec, so the object holds the original bytes
+        UploadResult result = new UploadResult(key, key, object.size(), object.size(),
+                StorageCodec.IDENTITY.getName(), object.eTag(), null, false);
+        return fileCatalogService.recordAndEnqueue(result, object.contentType(), owner);
+    }
+}
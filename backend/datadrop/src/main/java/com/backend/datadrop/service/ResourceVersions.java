@@ -0,0 +1,83 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.dao.ResourceVersionDao;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Versions behind the ETags of the rule and file listings, kept in {@code resource_versions} so that
+ * every instance hands out the same tags. Writers bump a version in the transaction of their write.
+ * Readers get a copy that is at most {@code datadrop.etag.version-ttl} old, so a matching
+ * If-None-Match is answered without a round trip; writes made here are seen as soon as they commit.
+ */
+@Component
+public class ResourceVersions {
+
+    public static final String URLS = "base_url";
+    public static final String FILES = "files";
+
+    private final ResourceVersionDao versionDao;
+    private final long ttlNanos;
+    private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+
+    public ResourceVersions(ResourceVersionDao versionDao,
+                            @Value("${datadrop.etag.version-ttl:PT2S}") Duration ttl) {
+        this.versionDao = versionDao;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Returns the version of {@code resource} as read from the database at most one TTL ago.
+     */
+    public long current(String resource) {
+        Cached cached = cache.get(resource);
+        if (cached != null && System.nanoTime() - cached.readAt() < ttlNanos) {
+            return cached.version();
+        }
+        return refresh(resource);
+    }
+
+    /**
+     * Reads the version of {@code resource} from the database and caches it.
+     */
+    public long refresh(String resource) {
+        long readAt = System.nanoTime();
+        long version = versionDao.get(resource);
+        cache.put(resource, new Cached(version, readAt));
+        return version;
+    }
+
+    /**
+     * Quoted entity tag for the current version of {@code resource}. Read it before the data it tags.
+     */
+    public String eTag(String resource) {
+        return "\"" + current(resource) + "\"";
+    }
+
+    /**
+     * Moves {@code resource} to a new version and returns it. Call it after the write and, where
+     * there is one, inside its transaction; the cached copy is dropped again once that commits.
+     */
+    public long bump(String resource) {
+        long version = versionDao.bump(resource);
+        cache.remove(resource);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.remove(resource);
+                }
+            });
+        }
+        return version;
+    }
+
+    private record Cached(long version, long readAt) {
+    }
+}
@@ -0,0 +1,248 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.dao.UploadSessionDao;
+import com.backend.datadrop.dto.RecordedUpload;
+import com.backend.datadrop.dto.ResumableUploadStatus;
+import com.backend.datadrop.dto.UploadPartResult;
+import com.backend.datadrop.dto.UploadResult;
+import com.backend.datadrop.model.UploadPart;
+import com.backend.datadrop.model.UploadSession;
+import com.backend.datadrop.model.UploadStatus;
+import com.backend.datadrop.storage.ObjectInfo;
+import com.backend.datadrop.storage.StorageBackend;
+import com.backend.datadrop.storage.StorageCodec;
+import com.backend.datadrop.storage.UploadedPart;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Uploads sent in fixed-size chunks that can be retried, sent in parallel and resumed after a
+ * dropped connection. A session maps onto one multipart upload in storage: the chunk at
+ * {@code offset} is part {@code offset / partSize + 1}, so no chunk is ever buffered or copied here.
+ * Sessions and the parts they received are kept in Postgres, so any instance can take the next
+ * chunk and {@link #status} tells a client what is left to send.
+ * <p>
+ * Like presigned uploads, chunked uploads are stored as sent, without compression or deduplication.
+ */
+@Service
+public class ResumableUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumableUploadService.class);
+
+    // S3 limits: parts of 5 MiB to 5 GiB, the last one excepted, and at most 10000 of them
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+    private static final long MAX_PART_SIZE = 5L * 1024 * 1024 * 1024;
+    private static final int MAX_PARTS = 10_000;
+    private static final int CLEANUP_BATCH_SIZE = 100;
+
+    private final UploadSessionDao uploadSessionDao;
+    private final StorageBackend storage;
+    private final FileCatalogService fileCatalogService;
+    private final long partSize;
+    private final Duration sessionTtl;
+
+    public ResumableUploadService(UploadSessionDao uploadSessionDao, StorageBackend storage,
+                                  FileCatalogService fileCatalogService,
+                                  @Value("${datadrop.upload.resumable.part-size:8388608}") long partSize,
+                                  @Value("${datadrop.upload.resumable.session-ttl:PT24H}") Duration sessionTtl) {
+        this.uploadSessionDao = uploadSessionDao;
+        this.storage = storage;
+        this.fileCatalogService = fileCatalogService;
+        this.partSize = Math.min(Math.max(partSize, MIN_PART_SIZE), MAX_PART_SIZE);
+        this.sessionTtl = sessionTtl;
+    }
+
+    /**
+     * Starts a session for {@code filename}. {@code size} may be {@code null} if the client does not
+     * know it yet; it is then only checked against the parts on {@link #complete}.
+     */
+    public ResumableUploadStatus create(String filename, String contentType, Long size, String owner) throws IOException {
+        if (size != null && (size <= 0 || size > partSize * MAX_PARTS)) {
+            throw new IllegalArgumentException("Upload size must be between 1 and " + partSize * MAX_PARTS + " bytes");
+        }
+        // The key is fixed now, since the multipart upload in storage is already bound to it
+        String key = fileCatalogService.isKeyTaken(filename) ? UploadService.uniqueKey(filename) : filename;
+        try {
+            return toStatus(start(key, contentType, size, owner), List.of());
+        } catch (DuplicateKeyException e) {
+            // Another session reserved the name between the check and the insert
+            return toStatus(start(UploadService.uniqueKey(filename), contentType, size, owner), List.of());
+        }
+    }
+
+    // The session row reserves the key: upload_sessions.file_key is unique
+    private UploadSession start(String key, String contentType, Long size, String owner) throws IOException {
+        UploadSession session = new UploadSession();
+        session.setId(UUID.randomUUID().toString());
+        session.setKey(key);
+        session.setStorageUploadId(storage.createMultipart(key, contentType));
+        session.setContentType(contentType);
+        session.setOwner(owner);
+        session.setPartSize(partSize);
+        session.setTotalSize(size);
+        session.setExpiresAt(LocalDateTime.now().plus(sessionTtl));
+        try {
+            return uploadSessionDao.create(session);
+        } catch (RuntimeException e) {
+            storage.abortMultipart(key, session.getStorageUploadId());
+            throw e;
+        }
+    }
+
+    /**
+     * Stores the {@code length} bytes of {@code in} as the chunk at {@code offset}. Offsets must be
+     * multiples of the part size and every chunk but the last must fill a whole part. Sending a chunk
+     * again replaces it.
+     */
+    public UploadPartResult putPart(String id, long offset, InputStream in, long length) throws IOException {
+        UploadSession session = find(id);
+        if (session.getStatus() != UploadStatus.ACTIVE) {
+            throw new IllegalStateException("Upload " + id + " is " + session.getStatus().name().toLowerCase(Locale.ROOT));
+        }
+        if (offset < 0 || offset % session.getPartSize() != 0) {
+            throw new IllegalArgumentException("Offset must be a multiple of the part size " + session.getPartSize());
+        }
+        if (length <= 0 || length > session.getPartSize()) {
+            throw new IllegalArgumentException("Chunks must be between 1 and " + session.getPartSize() + " bytes");
+        }
+        Long totalSize = session.getTotalSize();
+        if (totalSize != null && (offset + length > totalSize
+                || (length < session.getPartSize() && offset + length != totalSize))) {
+            throw new IllegalArgumentException("Chunk at " + offset + " of " + length + " bytes does not fit an upload of "
+                    + totalSize + " bytes");
+        }
+        long partNumber = offset / session.getPartSize() + 1;
+        if (partNumber > MAX_PARTS) {
+            throw new IllegalArgumentException("Uploads are limited to " + MAX_PARTS + " chunks");
+        }
+
+        String eTag = storage.uploadPart(session.getKey(), session.getStorageUploadId(), (int) partNumber, in, length);
+        UploadPart part = new UploadPart();
+        part.setUploadId(id);
+        part.setPartNumber((int) partNumber);
+        part.setSize(length);
+        part.setETag(eTag);
+        UploadPart saved = uploadSessionDao.savePart(part);
+        return new UploadPartResult(id, saved.getPartNumber(), offset, saved.getSize(), saved.getETag());
+    }
+
+    public ResumableUploadStatus status(String id) {
+        return toStatus(find(id), uploadSessionDao.findParts(id));
+    }
+
+    /**
+     * Joins the received chunks into the file and records it in the catalog. The chunks must cover
+     * the upload without gaps; if they do not, the session stays open for the missing ones. Completing
+     * a completed upload again returns the recorded file.
+     */
+    public RecordedUpload complete(String id) throws IOException {
+        UploadSession session = find(id);
+        if (session.getStatus() == UploadStatus.COMPLETED) {
+            return new RecordedUpload(fileCatalogService.find(session.getKey()).orElseThrow(), null);
+        }
+        // Only one request gets to complete; chunks arriving meanwhile are turned away
+        if (!uploadSessionDao.updateStatus(id, UploadStatus.ACTIVE, UploadStatus.COMPLETING)) {
+            throw new IllegalStateException("Upload " + id + " is already being completed or was aborted");
+        }
+        long size;
+        ObjectInfo object;
+        try {
+            List<UploadPart> parts = uploadSessionDao.findParts(id);
+            size = checkComplete(session, parts);
+            object = storage.completeMultipart(session.getKey(), session.getStorageUploadId(),
+                    parts.stream().map(part -> new UploadedPart(part.getPartNumber(), part.getETag())).toList());
+        } catch (IOException | RuntimeException e) {
+            // Nothing was joined, so the client can send what is missing and complete again
+            uploadSessionDao.updateStatus(id, UploadStatus.COMPLETING, UploadStatus.ACTIVE);
+            throw e;
+        }
+        // From here on the parts are gone from storage; if recording fails the session stays COMPLETING and
+        // the object is picked up by the next reconcile
+        UploadResult result = new UploadResult(session.getKey(), session.getKey(), size, object.size(),
+                StorageCodec.IDENTITY.getName(), object.eTag(), null, false);
+        RecordedUpload recorded = fileCatalogService.recordAndEnqueue(result, session.getContentType(), session.getOwner());
+        uploadSessionDao.updateStatus(id, UploadStatus.COMPLETING, UploadStatus.COMPLETED);
+        return recorded;
+    }
+
+    /**
+     * Drops the session and the chunks it received.
+     */
+    public void abort(String id) {
+        UploadSession session = find(id);
+        if (!uploadSessionDao.updateStatus(id, UploadStatus.ACTIVE, UploadStatus.ABORTED)) {
+            throw new IllegalStateException("Upload " + id + " is " + session.getStatus().name().toLowerCase(Locale.ROOT));
+        }
+        storage.abortMultipart(session.getKey(), session.getStorageUploadId());
+        uploadSessionDao.delete(id);
+    }
+
+    /**
+     * Removes sessions past their TTL, dropping the chunks of those that were never completed.
+     */
+    @Scheduled(fixedDelayString = "${datadrop.upload.resumable.cleanup-interval:PT10M}")
+    public void removeExpired() {
+        List<UploadSession> expired;
+        do {
+            expired = uploadSessionDao.findExpired(LocalDateTime.now(), CLEANUP_BATCH_SIZE);
+            for (UploadSession session : expired) {
+                if (session.getStatus() != UploadStatus.COMPLETED) {
+                    try {
+                        storage.abortMultipart(session.getKey(), session.getStorageUploadId());
+                    } catch (RuntimeException e) {
+                        // Storage keeps the parts until its own cleanup (e.g. an S3 lifecycle rule) runs
+                        log.warn("Failed to abort expired upload {} of {}", session.getId(), session.getKey(), e);
+                    }
+                }
+                uploadSessionDao.delete(session.getId());
+            }
+        } while (expired.size() == CLEANUP_BATCH_SIZE);
+    }
+
+    // Parts must run from 1 without gaps, all but the last one full; returns the total size
+    private static long checkComplete(UploadSession session, List<UploadPart> parts) {
+        if (parts.isEmpty()) {
+            throw new IllegalArgumentException("Upload " + session.getId() + " has no chunks");
+        }
+        long size = 0;
+        for (int i = 0; i < parts.size(); i++) {
+            UploadPart part = parts.get(i);
+            if (part.getPartNumber() != i + 1) {
+                throw new IllegalArgumentException("Chunk at offset " + i * session.getPartSize() + " is missing");
+            }
+            if (i < parts.size() - 1 && part.getSize() != session.getPartSize()) {
+                throw new IllegalArgumentException("Chunk at offset " + i * session.getPartSize() + " is incomplete");
+            }
+            size += part.getSize();
+        }
+        if (session.getTotalSize() != null && size != session.getTotalSize()) {
+            throw new IllegalArgumentException("Received " + size + " of " + session.getTotalSize() + " bytes");
+        }
+        return size;
+    }
+
+    private UploadSession find(String id) {
+        return uploadSessionDao.findById(id).orElseThrow(() -> new NoSuchElementException("Upload not found: " + id));
+    }
+
+    private static ResumableUploadStatus toStatus(UploadSession session, List<UploadPart> parts) {
+        return new ResumableUploadStatus(session.getId(), session.getKey(), session.getStatus().name(),
+                session.getPartSize(), session.getTotalSize(),
+                parts.stream().mapToLong(UploadPart::getSize).sum(),
+                parts.stream().map(part -> (part.getPartNumber() - 1) * session.getPartSize()).toList(),
+                session.getExpiresAt());
+    }
+}
@@ -0,0 +1,179 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.dao.AccessTokenDao;
+import com.backend.datadrop.metrics.OAuthHttpClient;
+import com.backend.datadrop.model.AccessToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps one Google token per user. Live tokens are served from memory; tokens that are about to
+ * expire are renewed with the stored refresh token, through the shared OAuth client, before they are
+ * handed out. Expired tokens are evicted from memory periodically.
+ */
+@Service
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private final AccessTokenDao accessTokenDao;
+    private final OAuthHttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Duration refreshSkew;
+    private final Map<Integer, AccessToken> cache = new ConcurrentHashMap<>();
+    // One renewal per user at a time: callers arriving meanwhile wait for its result instead of
+    // sending their own token request. Entries are removed as soon as the renewal is done.
+    private final Map<Integer, CompletableFuture<AccessToken>> renewals = new ConcurrentHashMap<>();
+
+    @Value("${google.client.id}")
+    String clientId;
+
+    @Value("${google.client.secret}")
+    String clientSecret;
+
+    @Value("${google.token.uri}")
+    String tokenUri;
+
+    public TokenService(AccessTokenDao accessTokenDao, OAuthHttpClient httpClient, ObjectMapper objectMapper,
+                        @Value("${datadrop.auth.token.refresh-skew:PT5M}") Duration refreshSkew) {
+        this.accessTokenDao = accessTokenDao;
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.refreshSkew = refreshSkew;
+    }
+
+    /**
+     * Stores the tokens of a login, replacing whatever the user had before.
+     */
+    public AccessToken store(int userId, String accessToken, String refreshToken, long expiresIn) {
+        AccessToken token = new AccessToken();
+        token.setUserId(userId);
+        token.setAccessToken(accessToken);
+        token.setRefreshToken(refreshToken);
+        token.setExpiresIn(expiresIn);
+        token.setExpiresAt(expiresIn > 0 ? LocalDateTime.now().plusSeconds(expiresIn) : null);
+        AccessToken saved = accessTokenDao.save(token);
+        cache.put(userId, saved);
+        return saved;
+    }
+
+    /**
+     * Returns an access token that stays valid for at least the refresh skew, renewing it first if
+     * needed. Empty when the user has no token or it has expired and can no longer be renewed.
+     */
+    public Optional<String> getValidToken(int userId) {
+        AccessToken token = cache.get(userId);
+        if (token != null && isFresh(token)) {
+            return Optional.of(token.getAccessToken());
+        }
+        CompletableFuture<AccessToken> renewal = new CompletableFuture<>();
+        CompletableFuture<AccessToken> running = renewals.putIfAbsent(userId, renewal);
+        if (running != null) {
+            return Optional.ofNullable(running.join()).map(AccessToken::getAccessToken);
+        }
+        try {
+            token = renew(userId);
+            renewal.complete(token);
+            return Optional.ofNullable(token).map(AccessToken::getAccessToken);
+        } catch (RuntimeException e) {
+            renewal.completeExceptionally(e);
+            throw e;
+        } finally {
+            renewals.remove(userId, renewal);
+        }
+    }
+
+    private AccessToken renew(int userId) {
+        // A renewal that finished just before this one started may already have left a fresh token
+        AccessToken token = cache.get(userId);
+        if (token == null || !isFresh(token)) {
+            // Another instance may have renewed it, or the user logged in again
+            token = accessTokenDao.findByUserId(userId).orElse(null);
+        }
+        if (token == null) {
+            cache.remove(userId);
+            return null;
+        }
+        if (!isFresh(token)) {
+            AccessToken renewed = refresh(token);
+            if (renewed != null) {
+                token = renewed;
+            } else if (isExpired(token)) {
+                cache.remove(userId);
+                return null;
+            }
+            // A failed renewal keeps the old token for as long as it is valid; the next call retries
+        }
+        cache.put(userId, token);
+        return token;
+    }
+
+    // Tokens stored without an expiry are treated as valid until Google rejects them
+    private boolean isFresh(AccessToken token) {
+        return token.getExpiresAt() == null || token.getExpiresAt().isAfter(LocalDateTime.now().plus(refreshSkew));
+    }
+
+    private static boolean isExpired(AccessToken token) {
+        return token.getExpiresAt() != null && !token.getExpiresAt().isAfter(LocalDateTime.now());
+    }
+
+    private AccessToken refresh(AccessToken token) {
+        if (token.getRefreshToken() == null) {
+            return null;
+        }
+        String requestBody = "client_id=" + encode(clientId)
+                + "&client_secret=" + encode(clientSecret)
+                + "&refresh_token=" + encode(token.getRefreshToken())
+                + "&grant_type=refresh_token";
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(tokenUri))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send("refresh", request);
+            if (response.statusCode() != 200) {
+                log.warn("Refreshing the token of user {} failed with status {}", token.getUserId(), response.statusCode());
+                return null;
+            }
+            JsonNode json = objectMapper.readTree(response.body());
+            // Google may rotate the refresh token; otherwise the stored one stays in place
+            String refreshToken = json.has("refresh_token") ? json.get("refresh_token").asText() : token.getRefreshToken();
+            long expiresIn = json.has("expires_in") ? json.get("expires_in").asLong() : 0;
+            return store(token.getUserId(), json.get("access_token").asText(), refreshToken, expiresIn);
+        } catch (IOException e) {
+            log.warn("Refreshing the token of user {} failed", token.getUserId(), e);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${datadrop.auth.token.eviction-interval:PT5M}")
+    public void evictExpired() {
+        cache.values().removeIf(TokenService::isExpired);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
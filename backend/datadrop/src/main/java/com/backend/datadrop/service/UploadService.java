@@ -0,0 +1,175 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.dao.FileDao;
+import com.backend.datadrop.dto.UploadResult;
+import com.backend.datadrop.metrics.UploadMetrics;
+import com.backend.datadrop.model.FileMetadata;
+import com.backend.datadrop.storage.CompressionPolicy;
+import com.backend.datadrop.storage.ObjectWriter;
+import com.backend.datadrop.storage.StorageBackend;
+import com.backend.datadrop.storage.StorageCodec;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class UploadService {
+
+    private static final int MAX_KEY_ATTEMPTS = 5;
+
+    private final StorageBackend storage;
+    private final FileDao fileDao;
+    private final CompressionPolicy compressionPolicy;
+    private final UploadMetrics uploadMetrics;
+    private final Duration keyReservationTtl;
+
+    public UploadService(StorageBackend storage, FileDao fileDao, CompressionPolicy compressionPolicy,
+                         UploadMetrics uploadMetrics,
+                         @Value("${datadrop.upload.key-reservation-ttl:PT24H}") Duration keyReservationTtl) {
+        this.storage = storage;
+        this.fileDao = fileDao;
+        this.compressionPolicy = compressionPolicy;
+        this.uploadMetrics = uploadMetrics;
+        this.keyReservationTtl = keyReservationTtl;
+    }
+
+    /**
+     * Streams {@code in} to storage while hashing it. When the catalog already holds the same content the
+     * write is discarded before it is committed and the result points at the existing object instead.
+     * <p>
+     * A name that is already taken is never overwritten: the new content is stored under a suffixed key.
+     * The key is reserved before anything is written, so this also holds for concurrent uploads of one
+     * name; the reservation ends when the upload is recorded in the catalog.
+     * Text formats are compressed on the way out when {@link CompressionPolicy} says so; the hash and the
+     * reported size always describe the original bytes.
+     */
+    public UploadResult upload(String key, InputStream in, String contentType) throws IOException {
+        Timer.Sample sample = uploadMetrics.start();
+        String outcome = UploadMetrics.ERROR;
+        long bytes = 0;
+        try {
+            UploadResult result = store(key, in, contentType);
+            outcome = result.deduplicated() ? UploadMetrics.DEDUPLICATED : UploadMetrics.STORED;
+            bytes = result.size();
+            return result;
+        } finally {
+            uploadMetrics.stop(sample, key, outcome, bytes);
+        }
+    }
+
+    private UploadResult store(String key, InputStream in, String contentType) throws IOException {
+        StorageCodec codec = compressionPolicy.codecFor(key);
+
+        String storageKey = reserveKey(key);
+        MessageDigest sha256 = newSha256();
+        ObjectWriter out;
+        try {
+            out = openWriter(storageKey, contentType, codec);
+        } catch (IOException | RuntimeException e) {
+            fileDao.releaseKey(storageKey);
+            throw e;
+        }
+        Optional<FileMetadata> duplicate;
+        long size;
+        String hash;
+        try {
+            // The encoder must not close the sink, which still has to be committed or aborted below
+            OutputStream encoded = codec.encode(StreamUtils.nonClosing(out));
+            size = new DigestInputStream(in, sha256).transferTo(encoded);
+            encoded.close();
+            hash = HexFormat.of().formatHex(sha256.digest());
+            duplicate = fileDao.findByContentHash(hash);
+        } catch (IOException | RuntimeException e) {
+            out.abort();
+            fileDao.releaseKey(storageKey);
+            throw e;
+        }
+
+        if (duplicate.isPresent()) {
+            // Objects that fit into one buffer were never sent; larger ones have their parts discarded
+            out.abort();
+            FileMetadata original = duplicate.get();
+            String logicalKey = original.getKey().equals(key) ? key : storageKey;
+            if (!logicalKey.equals(storageKey)) {
+                fileDao.releaseKey(storageKey);
+            }
+            String originalStorageKey = original.getStorageKey() != null ? original.getStorageKey() : original.getKey();
+            return new UploadResult(logicalKey, originalStorageKey, size, original.getStoredSize(),
+                    original.getCodec(), null, hash, true);
+        }
+
+        try {
+            out.close();
+        } catch (IOException | RuntimeException e) {
+            fileDao.releaseKey(storageKey);
+            throw e;
+        }
+        return new UploadResult(storageKey, storageKey, size, out.getBytesWritten(), codec.getName(),
+                out.getETag(), hash, false);
+    }
+
+    /**
+     * Opens a stream that writes {@code key} directly, without hashing or deduplication. Close it to
+     * commit the object or call {@link ObjectWriter#abort()} to discard it.
+     */
+    public ObjectWriter openWriter(String key, String contentType) throws IOException {
+        return openWriter(key, contentType, StorageCodec.IDENTITY);
+    }
+
+    /**
+     * Like {@link #openWriter(String, String)}, but tags the object with {@code codec}. The caller
+     * writes bytes that are already encoded.
+     */
+    public ObjectWriter openWriter(String key, String contentType, StorageCodec codec) throws IOException {
+        return storage.openWriter(key, contentType, codec != StorageCodec.IDENTITY ? codec.getName() : null);
+    }
+
+    public StorageCodec codecFor(String key) {
+        return compressionPolicy.codecFor(key);
+    }
+
+    private String reserveKey(String key) throws IOException {
+        String candidate = key;
+        for (int attempt = 0; attempt < MAX_KEY_ATTEMPTS; attempt++) {
+            if (fileDao.reserveKey(candidate, keyReservationTtl)) {
+                return candidate;
+            }
+            candidate = uniqueKey(key);
+        }
+        throw new IOException("No free key found for " + key);
+    }
+
+    // report.csv -> csv, README -> ""
+    public static String extensionOf(String filename) {
+        return (filename != null && filename.contains(".")) ?
+                filename.substring(filename.lastIndexOf(".") + 1) : "";
+    }
+
+    // report.csv -> report-1a2b3c4d.csv
+    static String uniqueKey(String key) {
+        String suffix = "-" + UUID.randomUUID().toString().substring(0, 8);
+        int dot = key.lastIndexOf('.');
+        int slash = key.lastIndexOf('/');
+        return dot > slash + 1 ? key.substring(0, dot) + suffix + key.substring(dot) : key + suffix;
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
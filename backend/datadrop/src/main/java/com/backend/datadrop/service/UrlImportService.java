@@ -0,0 +1,69 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.dto.UrlImportResult;
+import com.backend.datadrop.model.Url;
+import com.backend.datadrop.processing.CsvRecordReader;
+import com.backend.datadrop.processing.JsonRecordReader;
+import com.backend.datadrop.processing.RecordReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads rules from a CSV body (header with {@code url} or {@code base_url} and {@code file_type})
+ * or from a JSON array / NDJSON body of {@code {"url": ..., "file_type": ...}} objects.
+ */
+@Service
+public class UrlImportService {
+
+    private final UrlService urlService;
+    private final ObjectMapper objectMapper;
+
+    public UrlImportService(UrlService urlService, ObjectMapper objectMapper) {
+        this.urlService = urlService;
+        this.objectMapper = objectMapper;
+    }
+
+    public UrlImportResult importRules(InputStream in, MediaType contentType) throws IOException {
+        // Keyed on the trimmed pair so repeated rules in the input are written once
+        Map<String, Url> rules = new LinkedHashMap<>();
+        int received = 0;
+        int skipped = 0;
+        try (RecordReader reader = isCsv(contentType) ? new CsvRecordReader(in) : new JsonRecordReader(in, objectMapper)) {
+            Map<String, Object> record;
+            while ((record = reader.next()) != null) {
+                received++;
+                String baseUrl = text(record.containsKey("url") ? record.get("url") : record.get("base_url"));
+                if (baseUrl == null) {
+                    skipped++;
+                    continue;
+                }
+                Url url = new Url();
+                url.setBaseUrl(baseUrl);
+                url.setFile_type(text(record.get("file_type")));
+                rules.putIfAbsent(baseUrl + '\u0000' + url.getFile_type(), url);
+            }
+        }
+        int inserted = urlService.saveAll(rules.values());
+        return new UrlImportResult(received, skipped, rules.size(), inserted);
+    }
+
+    private static boolean isCsv(MediaType contentType) {
+        return contentType != null
+                && (contentType.isCompatibleWith(MediaType.valueOf("text/csv"))
+                || contentType.isCompatibleWith(MediaType.valueOf("application/csv")));
+    }
+
+    private static String text(Object value) {
+        if (value == null) {
+            return null;
+        }
+        String text = value.toString().trim();
+        return text.isEmpty() ? null : text;
+    }
+}
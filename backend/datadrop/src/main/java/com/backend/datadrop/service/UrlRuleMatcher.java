@@ -0,0 +1,237 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.model.Url;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Compiled form of the base_url rules. Rules are stored in one trie per scheme whose first levels
+ * are the host labels in reverse order ({@code com -> example -> www}) followed by the path
+ * segments, so a lookup walks the URL once instead of testing every rule.
+ * <p>
+ * Supported patterns:
+ * <ul>
+ *     <li>scheme: {@code http}, {@code https}, {@code *} or omitted (any scheme)</li>
+ *     <li>host: a literal host, {@code *.example.com} (the domain and all of its subdomains) or {@code *}</li>
+ *     <li>path: literal segments, {@code *} for exactly one segment, a trailing {@code *} for any remainder
+ *     and globs such as {@code report-*.csv} inside a segment; no path behaves like {@code /*}</li>
+ * </ul>
+ * Ports, query strings and fragments are ignored. Rules can be added while lookups are running.
+ */
+public class UrlRuleMatcher {
+
+    private static final String ANY = "*";
+
+    private final Map<String, HostNode> schemes = new ConcurrentHashMap<>();
+
+    public UrlRuleMatcher() {
+    }
+
+    public UrlRuleMatcher(Collection<Url> rules) {
+        rules.forEach(this::add);
+    }
+
+    public synchronized void add(Url rule) {
+        if (rule.getBaseUrl() == null || rule.getBaseUrl().isBlank()) {
+            return;
+        }
+        String pattern = rule.getBaseUrl().trim();
+
+        String scheme = ANY;
+        int schemeEnd = pattern.indexOf("://");
+        if (schemeEnd >= 0) {
+            scheme = pattern.substring(0, schemeEnd).toLowerCase(Locale.ROOT);
+            pattern = pattern.substring(schemeEnd + 3);
+        }
+
+        int pathStart = pattern.indexOf('/');
+        String host = pathStart >= 0 ? pattern.substring(0, pathStart) : pattern;
+        String path = pathStart >= 0 ? pattern.substring(pathStart) : "/*";
+
+        HostNode node = schemes.computeIfAbsent(scheme, s -> new HostNode());
+        boolean subdomains = false;
+        host = stripPort(host).toLowerCase(Locale.ROOT);
+        if (host.equals(ANY)) {
+            host = "";
+            subdomains = true;
+        } else if (host.startsWith("*.")) {
+            host = host.substring(2);
+            subdomains = true;
+        }
+        List<String> labels = hostLabels(host);
+        for (int i = labels.size() - 1; i >= 0; i--) {
+            node = node.children.computeIfAbsent(labels.get(i), l -> new HostNode());
+        }
+
+        PathNode pathNode = subdomains ? node.subdomainPaths : node.exactPaths;
+        List<String> segments = pathSegments(path);
+        for (int i = 0; i < segments.size(); i++) {
+            String segment = segments.get(i);
+            if (segment.equals(ANY) && i == segments.size() - 1) {
+                pathNode.rest.add(rule);
+                return;
+            }
+            pathNode = pathNode.child(segment);
+        }
+        pathNode.exact.add(rule);
+    }
+
+    /**
+     * Returns every rule matching {@code url}, in insertion order of first match.
+     *
+     * @throws IllegalArgumentException if {@code url} is not an absolute URL
+     */
+    public List<Url> match(String url) {
+        URI uri = URI.create(url.trim());
+        if (uri.getScheme() == null || uri.getHost() == null) {
+            throw new IllegalArgumentException("Not an absolute URL: " + url);
+        }
+        String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+        List<String> labels = hostLabels(uri.getHost().toLowerCase(Locale.ROOT));
+        List<String> segments = pathSegments(uri.getPath() == null ? "" : uri.getPath());
+
+        Set<Url> matches = new LinkedHashSet<>();
+        matchScheme(schemes.get(scheme), labels, segments, matches);
+        matchScheme(schemes.get(ANY), labels, segments, matches);
+        return new ArrayList<>(matches);
+    }
+
+    private static void matchScheme(HostNode root, List<String> labels, List<String> segments, Set<Url> matches) {
+        HostNode node = root;
+        for (int i = labels.size() - 1; i >= 0 && node != null; i--) {
+            matchPath(node.subdomainPaths, segments, matches);
+            node = node.children.get(labels.get(i));
+        }
+        if (node != null) {
+            matchPath(node.subdomainPaths, segments, matches);
+            matchPath(node.exactPaths, segments, matches);
+        }
+    }
+
+    // Runs all path branches in lock step, so each URL segment is looked at once per live branch
+    private static void matchPath(PathNode root, List<String> segments, Set<Url> matches) {
+        if (root.isEmpty()) {
+            return;
+        }
+        List<PathNode> current = List.of(root);
+        for (String segment : segments) {
+            List<PathNode> next = new ArrayList<>();
+            for (PathNode node : current) {
+                matches.addAll(node.rest);
+                PathNode child = node.children.get(segment);
+                if (child != null) {
+                    next.add(child);
+                }
+                if (node.anySegment != null) {
+                    next.add(node.anySegment);
+                }
+                for (Map.Entry<String, PathNode> glob : node.globs.entrySet()) {
+                    if (globMatches(glob.getKey(), segment)) {
+                        next.add(glob.getValue());
+                    }
+                }
+            }
+            if (next.isEmpty()) {
+                return;
+            }
+            current = next;
+        }
+        for (PathNode node : current) {
+            matches.addAll(node.exact);
+            matches.addAll(node.rest);
+        }
+    }
+
+    private static boolean globMatches(String glob, String value) {
+        int g = 0, v = 0, star = -1, mark = 0;
+        while (v < value.length()) {
+            if (g < glob.length() && glob.charAt(g) != '*' && glob.charAt(g) == value.charAt(v)) {
+                g++;
+                v++;
+            } else if (g < glob.length() && glob.charAt(g) == '*') {
+                star = g++;
+                mark = v;
+            } else if (star >= 0) {
+                g = star + 1;
+                v = ++mark;
+            } else {
+                return false;
+            }
+        }
+        while (g < glob.length() && glob.charAt(g) == '*') {
+            g++;
+        }
+        return g == glob.length();
+    }
+
+    private static String stripPort(String host) {
+        int colon = host.lastIndexOf(':');
+        return colon >= 0 && host.indexOf(']') < colon ? host.substring(0, colon) : host;
+    }
+
+    private static List<String> hostLabels(String host) {
+        List<String> labels = new ArrayList<>();
+        for (String label : host.split("\\.")) {
+            if (!label.isEmpty()) {
+                labels.add(label);
+            }
+        }
+        return labels;
+    }
+
+    private static List<String> pathSegments(String path) {
+        int end = path.length();
+        int query = path.indexOf('?');
+        int fragment = path.indexOf('#');
+        if (query >= 0) end = Math.min(end, query);
+        if (fragment >= 0) end = Math.min(end, fragment);
+
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.substring(0, end).split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+        return segments;
+    }
+
+    private static final class HostNode {
+        final Map<String, HostNode> children = new ConcurrentHashMap<>();
+        final PathNode exactPaths = new PathNode();
+        final PathNode subdomainPaths = new PathNode();
+    }
+
+    private static final class PathNode {
+        final Map<String, PathNode> children = new ConcurrentHashMap<>();
+        final Map<String, PathNode> globs = new ConcurrentHashMap<>();
+        volatile PathNode anySegment;
+        final List<Url> exact = new CopyOnWriteArrayList<>();
+        final List<Url> rest = new CopyOnWriteArrayList<>();
+
+        PathNode child(String segment) {
+            if (segment.equals(ANY)) {
+                if (anySegment == null) {
+                    anySegment = new PathNode();
+                }
+                return anySegment;
+            }
+            if (segment.indexOf('*') >= 0) {
+                return globs.computeIfAbsent(segment, s -> new PathNode());
+            }
+            return children.computeIfAbsent(segment, s -> new PathNode());
+        }
+
+        boolean isEmpty() {
+            return children.isEmpty() && globs.isEmpty() && anySegment == null && exact.isEmpty() && rest.isEmpty();
+        }
+    }
+}
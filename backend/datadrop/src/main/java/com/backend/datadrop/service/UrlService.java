@@ -1,29 +1,217 @@
 package com.backend.datadrop.service;
 
 import com.backend.datadrop.dao.UrlDao;
+import com.backend.datadrop.dto.ChangeEvent;
+import com.backend.datadrop.dto.UrlPage;
 import com.backend.datadrop.model.Url;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
 public class UrlService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final UrlDao urlDao;
+    private final ResourceVersions versions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    // In-memory copy of the base_url table, loaded lazily and updated in place by save(). It is always
+    // loaded from the primary, since a reload after saveAll() must see the rules just written, and
+    // reloaded when the shared version shows a write from another instance
+    private volatile RuleIndex index;
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
 
-    public UrlService(UrlDao urlDao) {
+    public UrlService(UrlDao urlDao, ResourceVersions versions, ApplicationEventPublisher eventPublisher,
+                      @Value("${datadrop.url.bulk.batch-size:1000}") int batchSize) {
         this.urlDao = urlDao;
+        this.versions = versions;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
     }
 
+    /**
+     * Returns all rules, at least as new as the version {@link #getVersionTag()} returned before.
+     */
     public List<Url> getAll() {
-        return urlDao.getAllUrls();
+        return index().rules();
+    }
+
+    /**
+     * Returns up to {@code limit} rules with an id above {@code afterId}, optionally limited to one
+     * file type and to hosts starting with {@code hostPrefix}. Paging goes to the database so the
+     * filters can use its indexes.
+     */
+    @Transactional(readOnly = true)
+    public UrlPage getPage(Long afterId, Integer limit, String fileType, String hostPrefix) {
+        int pageSize = (limit == null || limit <= 0) ? MAX_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        String type = fileType == null || fileType.isBlank() ? null : normalize(fileType);
+        String host = hostPrefix == null || hostPrefix.isBlank() ? null : hostPrefix.trim();
+        // Fetch one extra row to find out whether another page exists
+        List<Url> rows = urlDao.findPage(afterId, pageSize + 1, type, host);
+        boolean truncated = rows.size() > pageSize;
+        List<Url> page = truncated ? rows.subList(0, pageSize) : rows;
+        Long nextAfterId = truncated ? page.get(page.size() - 1).getId() : null;
+        return new UrlPage(page, nextAfterId, truncated);
     }
 
+    @Transactional(readOnly = true)
     public Url getById(Long id) {
         return urlDao.getUrlById(id);
     }
 
     public Url save(Url url) {
-        return urlDao.saveUrl(url);
+        Url saved = urlDao.saveUrl(url);
+        long version = versions.bump(ResourceVersions.URLS);
+        synchronized (this) {
+            RuleIndex current = index;
+            // Updated in place only if no other write came in since it was loaded; otherwise it is reloaded
+            if (current != null && current.version() == version - 1) {
+                if (current.rules().stream().noneMatch(rule -> rule.getId() == saved.getId())) {
+                    current.add(saved);
+                }
+                index = current.withVersion(version);
+            }
+        }
+        eventPublisher.publishEvent(new ChangeEvent(ChangeEvent.URL_ADDED, saved));
+        return saved;
+    }
+
+    /**
+     * Inserts the rules in JDBC batches within one transaction, skipping rules that already exist.
+     *
+     * @return the number of rules reported as new; drivers that rewrite batches report none
+     */
+    @Transactional
+    public int saveAll(Collection<Url> urls) {
+        int inserted = urlDao.saveAll(urls, batchSize);
+        versions.bump(ResourceVersions.URLS);
+        // Batched inserts do not return ids, so the index is rebuilt on the next lookup. Only once the
+        // import has committed, though: a lookup before that would cache the rules without it.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+        eventPublisher.publishEvent(new ChangeEvent(ChangeEvent.URLS_IMPORTED, Map.of("inserted", inserted)));
+        return inserted;
+    }
+
+    public boolean isFileTypeAllowed(String extension) {
+        return extension != null && index().fileTypes().contains(normalize(extension));
+    }
+
+    /**
+     * Returns the rules whose pattern matches {@code url}.
+     *
+     * @throws IllegalArgumentException if {@code url} is not an absolute URL
+     */
+    public List<Url> match(String url) {
+        return index().matcher().match(url);
+    }
+
+    /**
+     * Drops the cached rules so the next lookup reloads them from the database.
+     */
+    public void invalidate() {
+        index = null;
+    }
+
+    /**
+     * ETag of the rule table, the same on every instance. Read it before the data it tags: pages are
+     * read from the same database later, and {@link #getAll()} reloads rules older than the tag.
+     */
+    public String getVersionTag() {
+        return versions.eTag(ResourceVersions.URLS);
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    // Rules written by another instance are picked up once the version copy in ResourceVersions
+    // expires, so lookups are at most datadrop.etag.version-ttl behind the database
+    private RuleIndex index() {
+        RuleIndex current = index;
+        long version = versions.current(ResourceVersions.URLS);
+        if (current != null && current.version() >= version) {
+            cacheHits.increment();
+            return current;
+        }
+        synchronized (this) {
+            if (index == null || index.version() < version) {
+                cacheMisses.increment();
+                index = load();
+            } else {
+                cacheHits.increment();
+            }
+            return index;
+        }
+    }
+
+    // The version is read first, so the rules are at least as new as it
+    private RuleIndex load() {
+        long version = versions.refresh(ResourceVersions.URLS);
+        return RuleIndex.of(urlDao.getAllUrls(), version);
+    }
+
+    private static String normalize(String fileType) {
+        String trimmed = fileType.trim();
+        if (trimmed.startsWith(".")) {
+            trimmed = trimmed.substring(1);
+        }
+        return trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    private record RuleIndex(List<Url> rules, Set<String> fileTypes, UrlRuleMatcher matcher, long version) {
+
+        static RuleIndex of(List<Url> urls, long version) {
+            RuleIndex index = new RuleIndex(new CopyOnWriteArrayList<>(), ConcurrentHashMap.newKeySet(),
+                    new UrlRuleMatcher(), version);
+            urls.forEach(index::add);
+            return index;
+        }
+
+        RuleIndex withVersion(long version) {
+            return new RuleIndex(rules, fileTypes, matcher, version);
+        }
+
+        void add(Url url) {
+            rules.add(url);
+            if (url.getFile_type() != null) {
+                fileTypes.add(normalize(url.getFile_type()));
+            }
+            matcher.add(url);
+        }
+
+        @Override
+        public List<Url> rules() {
+            return Collections.unmodifiableList(rules);
+        }
     }
 }
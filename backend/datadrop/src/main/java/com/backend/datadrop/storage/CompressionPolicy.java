@@ -0,0 +1,37 @@
+package com.backend.datadrop.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Decides which stored objects get compressed. Only text formats listed in
+ * {@code datadrop.storage.compression.types} are eligible; already compressed formats gain nothing.
+ */
+@Component
+public class CompressionPolicy {
+
+    private final StorageCodec codec;
+    private final Set<String> types;
+
+    public CompressionPolicy(@Value("${datadrop.storage.compression.codec:none}") String codec,
+                             @Value("${datadrop.storage.compression.types:csv,tsv,json,ndjson,jsonl,xml,txt}") String types) {
+        this.codec = StorageCodec.fromName(codec);
+        this.types = Arrays.stream(types.split(","))
+                .map(type -> type.trim().toLowerCase(Locale.ROOT))
+                .filter(type -> !type.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public StorageCodec codecFor(String key) {
+        if (codec == StorageCodec.IDENTITY || key == null || !key.contains(".")) {
+            return StorageCodec.IDENTITY;
+        }
+        String extension = key.substring(key.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return types.contains(extension) ? codec : StorageCodec.IDENTITY;
+    }
+}
@@ -0,0 +1,621 @@
+package com.backend.datadrop.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Objects as plain files below a root directory, for on-prem and edge nodes without S3. Keys map to
+ * relative paths; content type and coding are kept in a sidecar file under {@code .meta}.
+ * <p>
+ * Writes land in {@code .tmp} and are moved into place on commit, so a file under the root is never
+ * modified once it is visible. Bodies are read through {@link FileChannel}s: whole files with
+ * {@link FileChannel#transferTo}, ranges through memory-mapped windows, and the web layer can skip
+ * both by handing {@link ObjectContent#localPath()} to the container's sendfile support.
+ * <p>
+ * Multipart uploads keep one file per part in {@code .tmp/multipart/<upload id>}; completing one
+ * concatenates the parts with channel-to-channel transfers and commits the result like any write.
+ */
+@Component
+@ConditionalOnProperty(name = "datadrop.storage.backend", havingValue = "local")
+public class LocalStorageBackend implements StorageBackend {
+
+    private static final String META_DIR = ".meta";
+    private static final String TEMP_DIR = ".tmp";
+    private static final String MULTIPART_DIR = "multipart";
+    private static final String UPLOAD_META = "upload.properties";
+    private static final String CONTENT_TYPE = "content-type";
+    private static final String CONTENT_ENCODING = "content-encoding";
+    private static final String STORAGE_CLASS = "STANDARD";
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final long TRANSFER_CHUNK_SIZE = 8 * 1024 * 1024;
+    private static final long MAP_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final Path root;
+    private final Path metaRoot;
+    private final Path tempRoot;
+
+    public LocalStorageBackend(@Value("${datadrop.storage.local.root:data}") String root) throws IOException {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.metaRoot = this.root.resolve(META_DIR);
+        this.tempRoot = this.root.resolve(TEMP_DIR);
+        Files.createDirectories(metaRoot);
+        Files.createDirectories(tempRoot);
+    }
+
+    @Override
+    public ObjectInfo stat(String key) {
+        Path path = resolve(key);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                throw new ObjectNotFoundException(key);
+            }
+            Properties meta = readMeta(path);
+            return info(key, attributes, meta.getProperty(CONTENT_TYPE), meta.getProperty(CONTENT_ENCODING));
+        } catch (NoSuchFileException e) {
+            throw new ObjectNotFoundException(key);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public ObjectContent open(String key, long start, long end) {
+        ObjectInfo info = stat(key);
+        if (end < 0) {
+            return new LocalContent(resolve(key), info, 0, info.size());
+        }
+        long last = Math.min(end, info.size() - 1);
+        return new LocalContent(resolve(key), info, start, Math.max(0, last - start + 1));
+    }
+
+    @Override
+    public ObjectWriter openWriter(String key, String contentType, String contentEncoding) throws IOException {
+        return new LocalWriter(key, resolve(key), contentType, contentEncoding);
+    }
+
+    @Override
+    public ObjectInfo put(String key, InputStream in, String contentType) throws IOException {
+        Path path = resolve(key);
+        Path temp = Files.createTempFile(tempRoot, "put-", ".part");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                // File inputs are copied by the kernel; other streams go through the channel's own buffer.
+                // The source is not closed, it belongs to the caller.
+                ReadableByteChannel source = in instanceof FileInputStream file ? file.getChannel() : Channels.newChannel(in);
+                long position = 0;
+                long n;
+                while ((n = channel.transferFrom(source, position, TRANSFER_CHUNK_SIZE)) > 0) {
+                    position += n;
+                }
+            }
+            return commit(temp, key, path, contentType, null);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    @Override
+    public Stream<ObjectInfo> list(String prefix) {
+        // Only the directory the prefix points into has to be walked
+        Path start = root;
+        int slash = prefix != null ? prefix.lastIndexOf('/') : -1;
+        if (slash > 0) {
+            start = resolve(prefix.substring(0, slash));
+            if (!Files.isDirectory(start)) {
+                return Stream.empty();
+            }
+        }
+        // The walk holds a directory handle per level, so it is finished here rather than left open in
+        // the caller's hands; a local listing is small enough to be collected
+        List<ObjectInfo> objects;
+        try (Stream<Path> files = Files.walk(start)) {
+            objects = files
+                    .filter(path -> !path.startsWith(metaRoot) && !path.startsWith(tempRoot))
+                    .filter(path -> prefix == null || keyOf(path).startsWith(prefix))
+                    .map(this::listed)
+                    .flatMap(Optional::stream)
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return objects.stream();
+    }
+
+    @Override
+    public void delete(String key) {
+        Path path = resolve(key);
+        try {
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(metaPath(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String createMultipart(String key, String contentType) throws IOException {
+        resolve(key);
+        String uploadId = UUID.randomUUID().toString();
+        Path dir = Files.createDirectories(multipartDir(uploadId));
+        Properties meta = new Properties();
+        if (contentType != null) {
+            meta.setProperty(CONTENT_TYPE, contentType);
+        }
+        try (OutputStream out = Files.newOutputStream(dir.resolve(UPLOAD_META))) {
+            meta.store(out, null);
+        }
+        return uploadId;
+    }
+
+    @Override
+    public String uploadPart(String key, String uploadId, int partNumber, InputStream in, long length) throws IOException {
+        Path dir = existingMultipartDir(key, uploadId);
+        Path temp = Files.createTempFile(dir, "part-", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ReadableByteChannel source = Channels.newChannel(in);
+                long position = 0;
+                long n;
+                while (position < length
+                        && (n = channel.transferFrom(source, position, Math.min(TRANSFER_CHUNK_SIZE, length - position))) > 0) {
+                    position += n;
+                }
+                if (position != length) {
+                    throw new IOException("Part " + partNumber + " of " + key + " ended after " + position + " of " + length + " bytes");
+                }
+            }
+            Path part = dir.resolve(partNumber + ".part");
+            move(temp, part);
+            BasicFileAttributes attributes = Files.readAttributes(part, BasicFileAttributes.class);
+            return eTag(attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    @Override
+    public ObjectInfo completeMultipart(String key, String uploadId, List<UploadedPart> parts) throws IOException {
+        Path dir = existingMultipartDir(key, uploadId);
+        Properties meta = new Properties();
+        try (InputStream in = Files.newInputStream(dir.resolve(UPLOAD_META))) {
+            meta.load(in);
+        }
+        Path temp = Files.createTempFile(tempRoot, "multipart-", ".part");
+        try {
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                for (UploadedPart uploaded : parts) {
+                    Path part = dir.resolve(uploaded.partNumber() + ".part");
+                    BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(part, BasicFileAttributes.class);
+                    } catch (NoSuchFileException e) {
+                        throw new IOException("Part " + uploaded.partNumber() + " of " + key + " was never uploaded", e);
+                    }
+                    if (!eTag(attributes.size(), attributes.lastModifiedTime().toMillis()).equals(uploaded.eTag())) {
+                        throw new IOException("Part " + uploaded.partNumber() + " of " + key + " does not match its ETag");
+                    }
+                    // File to file, so the kernel copies the bytes without passing them through the heap
+                    try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                        long size = in.size();
+                        long position = 0;
+                        while (position < size) {
+                            position += in.transferTo(position, size - position, out);
+                        }
+                    }
+                }
+            }
+            ObjectInfo info = commit(temp, key, resolve(key), meta.getProperty(CONTENT_TYPE), null);
+            deleteRecursively(dir);
+            return info;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    @Override
+    public void abortMultipart(String key, String uploadId) {
+        try {
+            deleteRecursively(multipartDir(uploadId));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String getLocation() {
+        return root.toString();
+    }
+
+    // Upload ids are generated here, but are checked anyway since they end up in a path
+    private Path multipartDir(String uploadId) {
+        return tempRoot.resolve(MULTIPART_DIR).resolve(UUID.fromString(uploadId).toString());
+    }
+
+    private Path existingMultipartDir(String key, String uploadId) {
+        resolve(key);
+        Path dir = multipartDir(uploadId);
+        if (!Files.isDirectory(dir)) {
+            throw new ObjectNotFoundException(key);
+        }
+        return dir;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    // Moves a finished temp file into place; the sidecar goes first so the object never appears without it
+    private ObjectInfo commit(Path temp, String key, Path path, String contentType, String contentEncoding) throws IOException {
+        Files.createDirectories(path.getParent());
+        writeMeta(path, contentType, contentEncoding);
+        move(temp, path);
+        return info(key, Files.readAttributes(path, BasicFileAttributes.class), contentType, contentEncoding);
+    }
+
+    private void writeMeta(Path path, String contentType, String contentEncoding) throws IOException {
+        Path metaPath = metaPath(path);
+        if (contentType == null && contentEncoding == null) {
+            Files.deleteIfExists(metaPath);
+            return;
+        }
+        Properties meta = new Properties();
+        if (contentType != null) {
+            meta.setProperty(CONTENT_TYPE, contentType);
+        }
+        if (contentEncoding != null) {
+            meta.setProperty(CONTENT_ENCODING, contentEncoding);
+        }
+        Path temp = Files.createTempFile(tempRoot, "meta-", ".properties");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            meta.store(out, null);
+        }
+        Files.createDirectories(metaPath.getParent());
+        move(temp, metaPath);
+    }
+
+    private Properties readMeta(Path path) throws IOException {
+        Properties meta = new Properties();
+        try (InputStream in = Files.newInputStream(metaPath(path))) {
+            meta.load(in);
+        } catch (NoSuchFileException e) {
+            // Files copied in by other tools have no sidecar
+        }
+        return meta;
+    }
+
+    private Optional<ObjectInfo> listed(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            // Like S3 listings, entries carry no content type or coding; stat() reads those
+            return attributes.isRegularFile()
+                    ? Optional.of(info(keyOf(path), attributes, null, null))
+                    : Optional.empty();
+        } catch (NoSuchFileException e) {
+            return Optional.empty(); // deleted while the directory was walked
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Maps a key onto a path below the root. Keys that would escape the root, reach into the
+     * bookkeeping directories or do not round-trip (e.g. {@code a/../b}) are rejected.
+     */
+    Path resolve(String key) {
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("Empty object key");
+        }
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root) || path.startsWith(metaRoot) || path.startsWith(tempRoot)
+                || !keyOf(path).equals(key)) {
+            throw new IllegalArgumentException("Invalid object key: " + key);
+        }
+        return path;
+    }
+
+    private String keyOf(Path path) {
+        return root.relativize(path).toString().replace(path.getFileSystem().getSeparator(), "/");
+    }
+
+    private Path metaPath(Path path) {
+        return metaRoot.resolve(root.relativize(path));
+    }
+
+    private static ObjectInfo info(String key, BasicFileAttributes attributes, String contentType, String contentEncoding) {
+        long modified = attributes.lastModifiedTime().toMillis();
+        return new ObjectInfo(key, attributes.size(), Instant.ofEpochMilli(modified),
+                eTag(attributes.size(), modified), contentType, contentEncoding, STORAGE_CLASS);
+    }
+
+    // Files are replaced, never modified in place, so size and modification time identify the content
+    private static String eTag(long size, long modified) {
+        return Long.toHexString(modified) + "-" + Long.toHexString(size);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private final class LocalWriter extends ObjectWriter {
+
+        private final String key;
+        private final Path path;
+        private final String contentType;
+        private final String contentEncoding;
+        private final Path temp;
+        private final OutputStream out;
+        private long bytesWritten;
+        private String eTag;
+        private boolean closed;
+
+        LocalWriter(String key, Path path, String contentType, String contentEncoding) throws IOException {
+            this.key = key;
+            this.path = path;
+            this.contentType = contentType;
+            this.contentEncoding = contentEncoding;
+            this.temp = Files.createTempFile(tempRoot, "upload-", ".part");
+            this.out = new BufferedOutputStream(Files.newOutputStream(temp, StandardOpenOption.WRITE), WRITE_BUFFER_SIZE);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureOpen();
+            out.write(b);
+            bytesWritten++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ensureOpen();
+            out.write(b, off, len);
+            bytesWritten += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                out.close();
+                eTag = commit(temp, key, path, contentType, contentEncoding).eTag();
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw new IOException("Failed to store " + key + ": " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void abort() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                out.close();
+            } catch (IOException ignored) {
+                // the file is deleted either way
+            }
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // leftovers in .tmp are harmless and never listed
+            }
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        @Override
+        public String getETag() {
+            return eTag;
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("Stream already closed");
+            }
+        }
+    }
+
+    // The channel is opened on first read, so content handed off to sendfile is never opened at all
+    private static final class LocalContent implements ObjectContent {
+
+        private final Path path;
+        private final ObjectInfo info;
+        private final long start;
+        private final long length;
+        private FileChannel channel;
+
+        LocalContent(Path path, ObjectInfo info, long start, long length) {
+            this.path = path;
+            this.info = info;
+            this.start = start;
+            this.length = length;
+        }
+
+        @Override
+        public ObjectInfo info() {
+            return info;
+        }
+
+        @Override
+        public InputStream stream() throws IOException {
+            if (start == 0 && length == info.size()) {
+                return Channels.newInputStream(channel());
+            }
+            return new MappedInputStream(channel(), start, start + length);
+        }
+
+        @Override
+        public long transferTo(OutputStream out) throws IOException {
+            if (start != 0 || length != info.size()) {
+                try (InputStream in = stream()) {
+                    return in.transferTo(out);
+                }
+            }
+            // Straight file-to-file copies are done by the kernel; other targets get the channel's buffer
+            WritableByteChannel target = out instanceof FileOutputStream file ? file.getChannel() : Channels.newChannel(out);
+            FileChannel source = channel();
+            long position = 0;
+            while (position < length) {
+                long n = source.transferTo(position, length - position, target);
+                if (n <= 0) {
+                    break;
+                }
+                position += n;
+            }
+            out.flush();
+            return position;
+        }
+
+        @Override
+        public void abort() {
+            close();
+        }
+
+        @Override
+        public Optional<Path> localPath() {
+            return Optional.of(path);
+        }
+
+        @Override
+        public long start() {
+            return start;
+        }
+
+        @Override
+        public long length() {
+            return length;
+        }
+
+        @Override
+        public void close() {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // read-only channel, nothing to flush
+                }
+            }
+        }
+
+        private FileChannel channel() throws IOException {
+            if (channel == null) {
+                channel = FileChannel.open(path, StandardOpenOption.READ);
+            }
+            return channel;
+        }
+    }
+
+    /**
+     * Reads {@code start..end} (exclusive) of a file through successive memory-mapped windows, so
+     * range reads cost no read syscalls and ranges of any size need a bounded amount of address space.
+     */
+    private static final class MappedInputStream extends InputStream {
+
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+        private ByteBuffer window = ByteBuffer.allocate(0);
+
+        MappedInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return nextWindow() ? window.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!nextWindow()) {
+                return -1;
+            }
+            int n = Math.min(len, window.remaining());
+            window.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return window.remaining();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        private boolean nextWindow() throws IOException {
+            if (window.hasRemaining()) {
+                return true;
+            }
+            if (position >= end) {
+                return false;
+            }
+            long size = Math.min(MAP_WINDOW_SIZE, end - position);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            position += size;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.backend.datadrop.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * An opened object body, possibly limited to a byte range. It must be closed; {@link #abort()}
+ * gives up on a body that was not read to the end without draining it.
+ */
+public interface ObjectContent extends Closeable {
+
+    ObjectInfo info();
+
+    InputStream stream() throws IOException;
+
+    /**
+     * Writes the whole (ranged) body to {@code out} and returns the number of bytes written.
+     */
+    long transferTo(OutputStream out) throws IOException;
+
+    void abort();
+
+    /**
+     * The file holding the body, for backends that keep objects on a local filesystem. Lets the web
+     * layer hand the transfer to the container's sendfile support.
+     */
+    default Optional<Path> localPath() {
+        return Optional.empty();
+    }
+
+    /**
+     * First byte of the body within the object.
+     */
+    long start();
+
+    /**
+     * Number of bytes in the body.
+     */
+    long length();
+}
@@ -0,0 +1,18 @@
+package com.backend.datadrop.storage;
+
+import java.time.Instant;
+
+/**
+ * What a {@link StorageBackend} knows about a stored object. {@code size} is the stored size, i.e.
+ * after the codec named by {@code contentEncoding} was applied; {@code eTag} is unquoted.
+ */
+public record ObjectInfo(
+        String key,
+        long size,
+        Instant lastModified,
+        String eTag,
+        String contentType,
+        String contentEncoding,
+        String storageClass
+) {
+}
@@ -0,0 +1,8 @@
+package com.backend.datadrop.storage;
+
+public class ObjectNotFoundException extends RuntimeException {
+
+    public ObjectNotFoundException(String key) {
+        super("No such object: " + key);
+    }
+}
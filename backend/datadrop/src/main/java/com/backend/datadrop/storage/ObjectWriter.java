@@ -0,0 +1,21 @@
+package com.backend.datadrop.storage;
+
+import java.io.OutputStream;
+
+/**
+ * OutputStream into a new object. Closing it commits the object, {@link #abort()} discards
+ * everything written so far; readers never see a partially written object.
+ */
+public abstract class ObjectWriter extends OutputStream {
+
+    public abstract void abort();
+
+    public abstract String getKey();
+
+    public abstract long getBytesWritten();
+
+    /**
+     * ETag of the committed object, or {@code null} before {@link #close()}.
+     */
+    public abstract String getETag();
+}
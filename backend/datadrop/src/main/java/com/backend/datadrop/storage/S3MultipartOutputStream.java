@@ -0,0 +1,174 @@
+package com.backend.datadrop.storage;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OutputStream that writes straight into an S3 object. Bytes are collected in a single pooled
+ * buffer; every time the buffer fills up it is sent as one multipart-upload part. Objects that
+ * fit into the first buffer are stored with a plain {@code putObject} instead.
+ * <p>
+ * Closing the stream commits the object, {@link #abort()} discards everything written so far.
+ */
+public class S3MultipartOutputStream extends ObjectWriter {
+
+    private final AmazonS3 s3client;
+    private final String bucket;
+    private final String key;
+    private final ObjectMetadata metadata;
+    private final BufferPool bufferPool;
+
+    private byte[] buffer;
+    private int position;
+    private String uploadId;
+    private final List<PartETag> partETags = new ArrayList<>();
+    private long bytesWritten;
+    private String eTag;
+    private boolean closed;
+
+    public S3MultipartOutputStream(AmazonS3 s3client, String bucket, String key,
+                                   ObjectMetadata metadata, BufferPool bufferPool) throws IOException {
+        this.s3client = s3client;
+        this.bucket = bucket;
+        this.key = key;
+        this.metadata = metadata != null ? metadata : new ObjectMetadata();
+        this.bufferPool = bufferPool;
+        this.buffer = bufferPool.acquire();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (position == buffer.length) {
+            uploadPart();
+        }
+        buffer[position++] = (byte) b;
+        bytesWritten++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            if (position == buffer.length) {
+                uploadPart();
+            }
+            int n = Math.min(len, buffer.length - position);
+            System.arraycopy(b, off, buffer, position, n);
+            position += n;
+            off += n;
+            len -= n;
+            bytesWritten += n;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (uploadId == null) {
+                metadata.setContentLength(position);
+                PutObjectRequest request = new PutObjectRequest(bucket, key,
+                        new ByteArrayInputStream(buffer, 0, position), metadata);
+                eTag = s3client.putObject(request).getETag();
+            } else {
+                if (position > 0) {
+                    uploadPart();
+                }
+                eTag = s3client.completeMultipartUpload(
+                        new CompleteMultipartUploadRequest(bucket, key, uploadId, partETags)).getETag();
+            }
+        } catch (RuntimeException e) {
+            abortMultipartUpload();
+            throw new IOException("Failed to store " + key + ": " + e.getMessage(), e);
+        } finally {
+            releaseBuffer();
+        }
+    }
+
+    /**
+     * Discards the object. Parts that were already sent are dropped by aborting the multipart upload.
+     */
+    @Override
+    public void abort() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        abortMultipartUpload();
+        releaseBuffer();
+    }
+
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    @Override
+    public String getETag() {
+        return eTag;
+    }
+
+    private void uploadPart() throws IOException {
+        try {
+            if (uploadId == null) {
+                uploadId = s3client.initiateMultipartUpload(
+                        new InitiateMultipartUploadRequest(bucket, key, metadata)).getUploadId();
+            }
+            UploadPartRequest request = new UploadPartRequest()
+                    .withBucketName(bucket)
+                    .withKey(key)
+                    .withUploadId(uploadId)
+                    .withPartNumber(partETags.size() + 1)
+                    .withInputStream(new ByteArrayInputStream(buffer, 0, position))
+                    .withPartSize(position);
+            partETags.add(s3client.uploadPart(request).getPartETag());
+            position = 0;
+        } catch (RuntimeException e) {
+            abort();
+            throw new IOException("Failed to upload part of " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void abortMultipartUpload() {
+        if (uploadId == null) {
+            return;
+        }
+        try {
+            s3client.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+        } catch (RuntimeException ignored) {
+            // S3 lifecycle rules clean up incomplete uploads that could not be aborted here
+        }
+        uploadId = null;
+    }
+
+    private void releaseBuffer() {
+        bufferPool.release(buffer);
+        buffer = null;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream already closed");
+        }
+    }
+}
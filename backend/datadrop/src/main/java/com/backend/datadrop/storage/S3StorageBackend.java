@@ -0,0 +1,267 @@
+package com.backend.datadrop.storage;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.iterable.S3Objects;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Objects in an S3 bucket. Writes go through {@link S3MultipartOutputStream}, so their memory use is
+ * bounded by the shared part buffer pool.
+ */
+@Component
+@ConditionalOnProperty(name = "datadrop.storage.backend", havingValue = "s3", matchIfMissing = true)
+public class S3StorageBackend implements StorageBackend {
+
+    // S3 rejects multipart parts (other than the last one) smaller than 5 MiB
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final int LIST_BATCH_SIZE = 1000;
+
+    private final AmazonS3 s3client;
+    private final String bucket;
+    private final BufferPool bufferPool;
+
+    // The client is injected as a proxy and only built on first use, keeping it off the startup path
+    public S3StorageBackend(@Lazy AmazonS3 s3client, @Value("${amazon.bucket.name}") String bucket,
+                            @Value("${datadrop.upload.part-size:8388608}") int partSize,
+                            @Value("${datadrop.upload.buffer-pool-size:16}") int bufferPoolSize) {
+        this.s3client = s3client;
+        this.bucket = bucket;
+        this.bufferPool = new BufferPool(Math.max(partSize, MIN_PART_SIZE), bufferPoolSize);
+    }
+
+    @Override
+    public ObjectInfo stat(String key) {
+        try {
+            ObjectMetadata metadata = s3client.getObjectMetadata(bucket, key);
+            return info(key, metadata, metadata.getContentLength());
+        } catch (AmazonS3Exception e) {
+            throw translate(e, key);
+        }
+    }
+
+    @Override
+    public ObjectContent open(String key, long start, long end) {
+        GetObjectRequest request = new GetObjectRequest(bucket, key);
+        if (end >= 0) {
+            request.setRange(start, end);
+        }
+        try {
+            return new S3Content(key, s3client.getObject(request), end >= 0 ? start : 0);
+        } catch (AmazonS3Exception e) {
+            throw translate(e, key);
+        }
+    }
+
+    @Override
+    public ObjectWriter openWriter(String key, String contentType, String contentEncoding) throws IOException {
+        ObjectMetadata metadata = new ObjectMetadata();
+        if (contentType != null) {
+            metadata.setContentType(contentType);
+        }
+        if (contentEncoding != null) {
+            // Lets presigned downloads decode transparently in clients that accept the coding
+            metadata.setContentEncoding(contentEncoding);
+        }
+        return new S3MultipartOutputStream(s3client, bucket, key, metadata, bufferPool);
+    }
+
+    @Override
+    public ObjectInfo put(String key, InputStream in, String contentType) throws IOException {
+        // S3 needs the length of a single put up front, so unknown lengths are sent as multipart parts
+        ObjectWriter out = openWriter(key, contentType, null);
+        try {
+            in.transferTo(out);
+        } catch (IOException | RuntimeException e) {
+            out.abort();
+            throw e;
+        }
+        out.close();
+        return new ObjectInfo(key, out.getBytesWritten(), Instant.now(), out.getETag(), contentType, null, "STANDARD");
+    }
+
+    @Override
+    public Stream<ObjectInfo> list(String prefix) {
+        // Pages of LIST_BATCH_SIZE keys are fetched as the stream is consumed
+        S3Objects objects = (prefix == null ? S3Objects.inBucket(s3client, bucket) : S3Objects.withPrefix(s3client, bucket, prefix))
+                .withBatchSize(LIST_BATCH_SIZE);
+        return StreamSupport.stream(objects.spliterator(), false).map(S3StorageBackend::info);
+    }
+
+    @Override
+    public void delete(String key) {
+        s3client.deleteObject(bucket, key);
+    }
+
+    @Override
+    public String createMultipart(String key, String contentType) throws IOException {
+        ObjectMetadata metadata = new ObjectMetadata();
+        if (contentType != null) {
+            metadata.setContentType(contentType);
+        }
+        try {
+            return s3client.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucket, key, metadata)).getUploadId();
+        } catch (RuntimeException e) {
+            throw new IOException("Failed to start upload of " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String uploadPart(String key, String uploadId, int partNumber, InputStream in, long length) throws IOException {
+        // The length is known, so the body is streamed through to S3 without being buffered here
+        UploadPartRequest request = new UploadPartRequest()
+                .withBucketName(bucket)
+                .withKey(key)
+                .withUploadId(uploadId)
+                .withPartNumber(partNumber)
+                .withInputStream(in)
+                .withPartSize(length);
+        try {
+            return s3client.uploadPart(request).getETag();
+        } catch (AmazonS3Exception e) {
+            throw new IOException("Failed to upload part " + partNumber + " of " + key + ": " + e.getMessage(), translate(e, key));
+        } catch (RuntimeException e) {
+            throw new IOException("Failed to upload part " + partNumber + " of " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ObjectInfo completeMultipart(String key, String uploadId, List<UploadedPart> parts) throws IOException {
+        List<PartETag> partETags = parts.stream().map(part -> new PartETag(part.partNumber(), part.eTag())).toList();
+        try {
+            s3client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, key, uploadId, partETags));
+        } catch (RuntimeException e) {
+            throw new IOException("Failed to complete upload of " + key + ": " + e.getMessage(), e);
+        }
+        return stat(key);
+    }
+
+    @Override
+    public void abortMultipart(String key, String uploadId) {
+        try {
+            s3client.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() != 404) {
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public String getLocation() {
+        return bucket;
+    }
+
+    @Override
+    public URL presign(String key, HttpMethod method, String contentType, Instant expiresAt) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, key,
+                com.amazonaws.HttpMethod.valueOf(method.name()))
+                .withExpiration(Date.from(expiresAt));
+        if (contentType != null) {
+            // The client must send the same Content-Type header, otherwise S3 rejects the signature
+            request.setContentType(contentType);
+        }
+        return s3client.generatePresignedUrl(request);
+    }
+
+    private static ObjectInfo info(String key, ObjectMetadata metadata, long size) {
+        return new ObjectInfo(key, size,
+                metadata.getLastModified() != null ? metadata.getLastModified().toInstant() : null,
+                metadata.getETag(), metadata.getContentType(), metadata.getContentEncoding(),
+                metadata.getStorageClass() != null ? metadata.getStorageClass() : "STANDARD");
+    }
+
+    private static ObjectInfo info(S3ObjectSummary summary) {
+        return new ObjectInfo(summary.getKey(), summary.getSize(),
+                summary.getLastModified() != null ? summary.getLastModified().toInstant() : null,
+                summary.getETag(), null, null, summary.getStorageClass());
+    }
+
+    private static RuntimeException translate(AmazonS3Exception e, String key) {
+        return e.getStatusCode() == 404 ? new ObjectNotFoundException(key) : e;
+    }
+
+    private static final class S3Content implements ObjectContent {
+
+        private final S3Object object;
+        private final ObjectInfo info;
+        private final long start;
+
+        S3Content(String key, S3Object object, long start) {
+            this.object = object;
+            ObjectMetadata metadata = object.getObjectMetadata();
+            // The instance length is the size of the whole object, also for ranged reads
+            this.info = S3StorageBackend.info(key, metadata, metadata.getInstanceLength());
+            this.start = start;
+        }
+
+        @Override
+        public ObjectInfo info() {
+            return info;
+        }
+
+        @Override
+        public InputStream stream() {
+            return object.getObjectContent();
+        }
+
+        @Override
+        public long transferTo(OutputStream out) throws IOException {
+            InputStream in = object.getObjectContent();
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            long total = 0;
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+            }
+            out.flush();
+            return total;
+        }
+
+        @Override
+        public void abort() {
+            object.getObjectContent().abort();
+        }
+
+        @Override
+        public long start() {
+            return start;
+        }
+
+        @Override
+        public long length() {
+            return object.getObjectMetadata().getContentLength();
+        }
+
+        @Override
+        public void close() throws IOException {
+            object.close();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.backend.datadrop.storage;
+
+import org.springframework.http.HttpMethod;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Where object bodies live. The implementation is picked with {@code datadrop.storage.backend}:
+ * {@code s3} (default) or {@code local}.
+ */
+public interface StorageBackend {
+
+    /**
+     * @throws ObjectNotFoundException if there is no object under {@code key}
+     */
+    ObjectInfo stat(String key);
+
+    /**
+     * Opens the object body, limited to the inclusive byte range {@code start..end} when {@code end >= 0}.
+     *
+     * @throws ObjectNotFoundException if there is no object under {@code key}
+     */
+    ObjectContent open(String key, long start, long end);
+
+    /**
+     * Opens a stream that replaces {@code key} once it is closed. {@code contentEncoding} names the
+     * codec the caller already applied to the bytes, or is {@code null} for plain content.
+     */
+    ObjectWriter openWriter(String key, String contentType, String contentEncoding) throws IOException;
+
+    /**
+     * Stores {@code in} under {@code key} in one go.
+     */
+    ObjectInfo put(String key, InputStream in, String contentType) throws IOException;
+
+    /**
+     * Lists every object whose key starts with {@code prefix} ({@code null} for all of them). Backends
+     * may produce the stream lazily and hold resources until it is closed, so callers open it in a
+     * try-with-resources block.
+     */
+    Stream<ObjectInfo> list(String prefix);
+
+    void delete(String key);
+
+    /**
+     * Starts a multipart upload to {@code key} and returns its id. Parts can then be sent in any order
+     * and concurrently; nothing is visible under {@code key} until {@link #completeMultipart}.
+     */
+    String createMultipart(String key, String contentType) throws IOException;
+
+    /**
+     * Stores exactly {@code length} bytes of {@code in} as part {@code partNumber} (from 1), replacing
+     * an earlier copy of the same part, and returns the part's ETag.
+     */
+    String uploadPart(String key, String uploadId, int partNumber, InputStream in, long length) throws IOException;
+
+    /**
+     * Joins {@code parts}, in the given order, into the object under {@code key}.
+     */
+    ObjectInfo completeMultipart(String key, String uploadId, List<UploadedPart> parts) throws IOException;
+
+    /**
+     * Drops a multipart upload and the parts it received. Unknown uploads are ignored.
+     */
+    void abortMultipart(String key, String uploadId);
+
+    /**
+     * Bucket name or root directory, for logs and responses.
+     */
+    String getLocation();
+
+    /**
+     * Signs a URL that lets a client {@code GET} or {@code PUT} {@code key} directly until {@code expiresAt}.
+     * A non-null {@code contentType} must be sent by the client as well.
+     *
+     * @throws UnsupportedOperationException if the backend cannot be reached by clients directly
+     */
+    default URL presign(String key, HttpMethod method, String contentType, Instant expiresAt) {
+        throw new UnsupportedOperationException("Presigned URLs are not supported by storage at " + getLocation());
+    }
+}
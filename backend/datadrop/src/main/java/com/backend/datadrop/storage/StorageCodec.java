@@ -0,0 +1,107 @@
+package com.backend.datadrop.storage;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compression applied to object bodies at rest. The codec name doubles as the HTTP content coding,
+ * so objects are stored with a matching {@code Content-Encoding}.
+ */
+public enum StorageCodec {
+
+    IDENTITY("identity") {
+        @Override
+        public OutputStream encode(OutputStream out) {
+            return out;
+        }
+
+        @Override
+        public InputStream decode(InputStream in) {
+            return in;
+        }
+    },
+
+    GZIP("gzip") {
+        @Override
+        public OutputStream encode(OutputStream out) throws IOException {
+            return new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+
+        @Override
+        public InputStream decode(InputStream in) throws IOException {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        }
+    },
+
+    ZSTD("zstd") {
+        @Override
+        public OutputStream encode(OutputStream out) throws IOException {
+            return new ZstdOutputStream(out, 3);
+        }
+
+        @Override
+        public InputStream decode(InputStream in) throws IOException {
+            return new ZstdInputStream(in);
+        }
+    };
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String name;
+
+    StorageCodec(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Wraps {@code out}; closing the returned stream finishes the encoding and closes {@code out}.
+     */
+    public abstract OutputStream encode(OutputStream out) throws IOException;
+
+    public abstract InputStream decode(InputStream in) throws IOException;
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Maps a configured codec name; {@code none} and empty values mean {@link #IDENTITY}.
+     *
+     * @throws IllegalArgumentException for unknown names
+     */
+    public static StorageCodec fromName(String name) {
+        if (name == null || name.isBlank() || name.equalsIgnoreCase("none")) {
+            return IDENTITY;
+        }
+        for (StorageCodec codec : values()) {
+            if (codec.name.equalsIgnoreCase(name.trim())) {
+                return codec;
+            }
+        }
+        throw new IllegalArgumentException("Unknown storage codec: " + name);
+    }
+
+    /**
+     * Maps the {@code Content-Encoding} of a stored object. Encodings this service did not write
+     * are passed through untouched.
+     */
+    public static StorageCodec fromContentEncoding(String contentEncoding) {
+        if (contentEncoding == null) {
+            return IDENTITY;
+        }
+        String value = contentEncoding.trim().toLowerCase(Locale.ROOT);
+        for (StorageCodec codec : values()) {
+            if (codec.name.equals(value)) {
+                return codec;
+            }
+        }
+        return IDENTITY;
+    }
+}
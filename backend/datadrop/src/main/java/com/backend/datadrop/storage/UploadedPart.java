@@ -0,0 +1,7 @@
+package com.backend.datadrop.storage;
+
+/**
+ * A part of a multipart upload as acknowledged by {@link StorageBackend#uploadPart}.
+ */
+public record UploadedPart(int partNumber, String eTag) {
+}
@@ -0,0 +1,11 @@
+-- Postgres-only DDL, run after schema.sql by the application (see DatadropApplication)
+
+-- NULLS NOT DISTINCT (Postgres 15+) keeps rules without a file type unique as well
+DROP INDEX IF EXISTS idx_base_url_base_url_file_type;
+CREATE UNIQUE INDEX IF NOT EXISTS idx_base_url_rule ON base_url (base_url, file_type) NULLS NOT DISTINCT;
+
+-- Paging filters: host is the lower-cased host part of base_url, kept up to date by Postgres
+ALTER TABLE base_url ADD COLUMN IF NOT EXISTS host varchar(255)
+    GENERATED ALWAYS AS (lower(substring(base_url from '^[A-Za-z][A-Za-z0-9+.-]*://([^/:?#]*)'))) STORED;
+CREATE INDEX IF NOT EXISTS idx_base_url_host ON base_url (host varchar_pattern_ops, id);
+CREATE INDEX IF NOT EXISTS idx_base_url_file_type ON base_url (lower(file_type), id);
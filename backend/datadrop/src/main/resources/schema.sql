@@ -4,9 +4,7 @@ CREATE TABLE IF NOT EXISTS users (
                                      email VARCHAR(255) UNIQUE,
                                      google_id TEXT UNIQUE
 );
-DROP TABLE IF EXISTS access_tokens;
-
-CREATE TABLE access_tokens (
+CREATE TABLE IF NOT EXISTS access_tokens (
                                id SERIAL PRIMARY KEY,
                                user_id INT REFERENCES users(id) ON DELETE CASCADE,
                                access_token TEXT NOT NULL,
@@ -15,9 +13,110 @@ CREATE TABLE access_tokens (
                                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- One row per user: older duplicates from the append-only days are dropped before the index is built
+ALTER TABLE access_tokens ADD COLUMN IF NOT EXISTS expires_at TIMESTAMP;
+ALTER TABLE access_tokens ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+DELETE FROM access_tokens WHERE user_id IS NOT NULL AND id NOT IN
+    (SELECT MAX(id) FROM access_tokens WHERE user_id IS NOT NULL GROUP BY user_id);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_access_tokens_user_id ON access_tokens (user_id);
+
 
 CREATE  TABLE IF NOT EXISTS base_url(
     id serial PRIMARY KEY,
     base_url varchar(255),
     file_type varchar(255)
-);
\ No newline at end of file
+);
+
+-- Rules are unique per (base_url, file_type), with NULL counting as one file type; duplicates from
+-- before the index keep their oldest row. The index itself is in schema-postgresql.sql.
+DELETE FROM base_url WHERE id NOT IN (SELECT MIN(id) FROM base_url GROUP BY base_url, file_type);
+
+
+CREATE TABLE IF NOT EXISTS files(
+    id serial PRIMARY KEY,
+    file_key varchar(1024) NOT NULL UNIQUE,
+    size BIGINT NOT NULL DEFAULT 0,
+    content_type varchar(255),
+    owner varchar(255),
+    content_hash varchar(64),
+    storage_class varchar(64),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    verified_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_files_verified_at ON files (verified_at);
+
+-- storage_key is the S3 object holding the bytes; deduplicated uploads share the object of the first copy
+ALTER TABLE files ADD COLUMN IF NOT EXISTS storage_key varchar(1024);
+UPDATE files SET storage_key = file_key WHERE storage_key IS NULL;
+CREATE INDEX IF NOT EXISTS idx_files_storage_key ON files (storage_key);
+CREATE INDEX IF NOT EXISTS idx_files_content_hash ON files (content_hash);
+
+-- size is always the original size; stored_size is what the object takes up after the storage codec
+ALTER TABLE files ADD COLUMN IF NOT EXISTS stored_size BIGINT;
+ALTER TABLE files ADD COLUMN IF NOT EXISTS codec varchar(16);
+UPDATE files SET stored_size = size WHERE stored_size IS NULL;
+
+CREATE TABLE IF NOT EXISTS jobs(
+    id bigserial PRIMARY KEY,
+    job_type varchar(64) NOT NULL,
+    file_key varchar(1024),
+    status varchar(16) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    max_attempts INT NOT NULL DEFAULT 5,
+    next_run_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_by varchar(255),
+    locked_at TIMESTAMP,
+    last_error TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_jobs_status_next_run_at ON jobs (status, next_run_at);
+
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS payload TEXT;
+
+-- Resumable uploads: one row per session and one per received part. storage_upload_id is the
+-- storage backend's multipart upload the parts are sent to; file_key is fixed when the session starts.
+CREATE TABLE IF NOT EXISTS upload_sessions(
+    id varchar(36) PRIMARY KEY,
+    file_key varchar(1024) NOT NULL,
+    storage_upload_id varchar(1024) NOT NULL,
+    content_type varchar(255),
+    owner varchar(255),
+    part_size BIGINT NOT NULL,
+    total_size BIGINT,
+    status varchar(16) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_upload_sessions_expires_at ON upload_sessions (expires_at);
+-- A session reserves its key from creation, so no other session or upload can write it meanwhile
+CREATE UNIQUE INDEX IF NOT EXISTS idx_upload_sessions_file_key ON upload_sessions (file_key);
+
+-- Plain uploads reserve their key before writing it, so two uploads of the same new name cannot both
+-- take it. The row goes once the file is in the catalog; one left by an upload that never finished is
+-- taken over after it expires.
+CREATE TABLE IF NOT EXISTS key_reservations(
+    file_key varchar(1024) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS upload_parts(
+    upload_id varchar(36) NOT NULL REFERENCES upload_sessions (id) ON DELETE CASCADE,
+    part_number INT NOT NULL,
+    size BIGINT NOT NULL,
+    etag varchar(255) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (upload_id, part_number)
+);
+
+-- One row per resource served with ETags (base_url, files), bumped in the transaction of every write
+-- to it. Instances tag responses with the version, so the tags agree across instances.
+CREATE TABLE IF NOT EXISTS resource_versions(
+    name varchar(64) PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
@@ -0,0 +1,76 @@
+package com.backend.datadrop;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the whole application the way {@code main} does and measures the time until it has
+ * answered its first HTTP request. The numbers are written to {@code target/startup-time.properties}
+ * so builds can be compared; {@code -Dstartup.max-millis} fails the build above a budget. Tagged
+ * {@code startup}, so it only runs with {@code mvn -Pfast-startup}.
+ */
+@Tag("startup")
+class StartupTimeTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimeTest.class);
+
+    private static final Path REPORT = Path.of("target", "startup-time.properties");
+
+    @Test
+    void testTimeToFirstRequest() throws Exception {
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DatadropApplication.class)
+                .run("--server.port=0", "--amazon.bucket.name=startup-test")) {
+            long started = System.nanoTime();
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            // The first request also pays for initializing the dispatcher servlet
+            HttpResponse<Void> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding());
+            long firstRequest = System.nanoTime();
+            assertEquals(200, response.statusCode(), "GET /actuator/health after startup");
+
+            long startupMillis = Duration.ofNanos(started - start).toMillis();
+            long firstRequestMillis = Duration.ofNanos(firstRequest - start).toMillis();
+            report(startupMillis, firstRequestMillis);
+
+            Long budget = Long.getLong("startup.max-millis");
+            if (budget != null) {
+                assertTrue(firstRequestMillis <= budget,
+                        "First request after " + firstRequestMillis + " ms, budget is " + budget + " ms");
+            }
+        }
+    }
+
+    private static void report(long startupMillis, long firstRequestMillis) throws Exception {
+        log.info("Startup: context ready after {} ms, first request answered after {} ms", startupMillis, firstRequestMillis);
+        Properties properties = new Properties();
+        properties.setProperty("startup.context-ready.millis", Long.toString(startupMillis));
+        properties.setProperty("startup.first-request.millis", Long.toString(firstRequestMillis));
+        properties.setProperty("java.version", System.getProperty("java.version"));
+        properties.setProperty("spring.aot.enabled", Boolean.toString(Boolean.getBoolean("spring.aot.enabled")));
+        Files.createDirectories(REPORT.getParent());
+        try (OutputStream out = Files.newOutputStream(REPORT)) {
+            properties.store(out, "DatadropApplication startup time");
+        }
+    }
+}
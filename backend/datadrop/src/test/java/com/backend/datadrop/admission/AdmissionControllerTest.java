@@ -0,0 +1,82 @@
+package com.backend.datadrop.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControllerTest {
+
+    @Test
+    void testPerUserLimitRejectsImmediately() throws Exception {
+        AdmissionController admission = new AdmissionController(10, 1000, 1, 500, 10, Duration.ofSeconds(5));
+
+        try (AdmissionController.Permit ignored = admission.acquire("alice", 100)) {
+            AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class,
+                    () -> admission.acquire("alice", 100));
+            assertEquals(AdmissionController.USER_LIMIT, e.getReason());
+            assertTrue(e.getRetryAfterSeconds() >= 1);
+
+            admission.acquire("bob", 100).close();
+        }
+        admission.acquire("alice", 100).close();
+        assertEquals(1, admission.getRejections(AdmissionController.USER_LIMIT));
+    }
+
+    @Test
+    void testOversizedRequestIsChargedTheWholeBudget() throws Exception {
+        AdmissionController admission = new AdmissionController(10, 1000, 5, 500, 10, Duration.ofSeconds(5));
+
+        try (AdmissionController.Permit ignored = admission.acquire("alice", 10_000)) {
+            assertEquals(500, admission.getBytesInFlight());
+            AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class,
+                    () -> admission.acquire("alice", 1));
+            assertEquals(AdmissionController.USER_LIMIT, e.getReason());
+        }
+        assertEquals(0, admission.getBytesInFlight());
+    }
+
+    @Test
+    void testQueuedRequestIsAdmittedOnRelease() throws Exception {
+        AdmissionController admission = new AdmissionController(1, 1000, 5, 1000, 10, Duration.ofSeconds(5));
+        AdmissionController.Permit first = admission.acquire("alice", 100);
+
+        CompletableFuture<AdmissionController.Permit> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return admission.acquire("bob", 100);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (admission.getQueued() == 0) {
+            Thread.onSpinWait();
+        }
+        assertFalse(second.isDone());
+
+        first.close();
+        second.get(5, TimeUnit.SECONDS).close();
+        assertEquals(0, admission.getInFlight());
+        assertEquals(1, admission.getWaited());
+    }
+
+    @Test
+    void testFullQueueAndTimeoutAreRejected() throws Exception {
+        AdmissionController admission = new AdmissionController(1, 1000, 5, 1000, 0, Duration.ofMillis(10));
+        try (AdmissionController.Permit ignored = admission.acquire("alice", 100)) {
+            AdmissionRejectedException full = assertThrows(AdmissionRejectedException.class,
+                    () -> admission.acquire("bob", 100));
+            assertEquals(AdmissionController.QUEUE_FULL, full.getReason());
+        }
+
+        AdmissionController waiting = new AdmissionController(1, 1000, 5, 1000, 1, Duration.ofMillis(10));
+        try (AdmissionController.Permit ignored = waiting.acquire("alice", 100)) {
+            AdmissionRejectedException timeout = assertThrows(AdmissionRejectedException.class,
+                    () -> waiting.acquire("bob", 100));
+            assertEquals(AdmissionController.TIMEOUT, timeout.getReason());
+            assertEquals(0, waiting.getQueued());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.backend.datadrop.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionFilterTest {
+
+    @Test
+    void testAnonymousRequestsAreKeyedByAddress() {
+        MockHttpServletRequest request = request();
+        request.addHeader("X-Api-Key", "team-a");
+
+        assertEquals("addr:10.0.0.7", filter("").userOf(request));
+    }
+
+    @Test
+    void testCallerHeaderKeysAnonymousRequestsWhenPresent() {
+        AdmissionFilter filter = filter("X-Api-Key");
+        MockHttpServletRequest withKey = request();
+        withKey.addHeader("X-Api-Key", "team-a");
+
+        assertEquals("caller:team-a", filter.userOf(withKey));
+        assertEquals("addr:10.0.0.7", filter.userOf(request()));
+    }
+
+    @Test
+    void testAuthenticatedUserWinsOverCallerHeader() {
+        MockHttpServletRequest request = request();
+        request.addHeader("X-Api-Key", "team-a");
+        request.setUserPrincipal(() -> "alice");
+
+        assertEquals("user:alice", filter("X-Api-Key").userOf(request));
+    }
+
+    private static AdmissionFilter filter(String callerHeader) {
+        return new AdmissionFilter(null, "/api/**", 1024, callerHeader);
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/files/upload");
+        request.setRemoteAddr("10.0.0.7");
+        return request;
+    }
+}
@@ -0,0 +1,36 @@
+package com.backend.datadrop.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileControllerTest {
+
+    @Test
+    void testAcceptsListedEncoding() {
+        assertTrue(FileController.acceptsEncoding("gzip", "gzip"));
+        assertTrue(FileController.acceptsEncoding("br, GZIP;q=0.5", "gzip"));
+        assertFalse(FileController.acceptsEncoding("br, deflate", "gzip"));
+    }
+
+    @Test
+    void testZeroQualityRefusesEncoding() {
+        assertFalse(FileController.acceptsEncoding("gzip;q=0", "gzip"));
+        assertFalse(FileController.acceptsEncoding("gzip; q=0.000", "gzip"));
+        assertTrue(FileController.acceptsEncoding("gzip;q=0.001", "gzip"));
+    }
+
+    @Test
+    void testWildcardAppliesUnlessTheEncodingIsNamed() {
+        assertTrue(FileController.acceptsEncoding("*", "zstd"));
+        assertFalse(FileController.acceptsEncoding("*;q=0", "zstd"));
+        assertFalse(FileController.acceptsEncoding("zstd;q=0, *", "zstd"));
+        assertTrue(FileController.acceptsEncoding("*;q=0, zstd", "zstd"));
+    }
+
+    @Test
+    void testMissingHeaderMeansIdentityOnly() {
+        assertFalse(FileController.acceptsEncoding(null, "gzip"));
+        assertFalse(FileController.acceptsEncoding("", "gzip"));
+    }
+}
@@ -0,0 +1,82 @@
+package com.backend.datadrop.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaLagMonitor lagMonitor;
+
+    @BeforeEach
+    void setUp() {
+        // Two separate databases that only differ in which name they report
+        primary = database("primary");
+        replica = database("replica");
+        lagMonitor = new ReplicaLagMonitor(replica, Duration.ofSeconds(5));
+        lagMonitor.update(0);
+    }
+
+    @Test
+    void testReadOnlyTransactionsGoToTheReplica() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(routing(replica));
+
+        assertEquals("replica", read(jdbcTemplate, true));
+        assertEquals("primary", read(jdbcTemplate, false));
+        // Statements outside a transaction are treated as writes
+        assertEquals("primary", jdbcTemplate.queryForObject("SELECT name FROM origin", String.class));
+    }
+
+    @Test
+    void testLaggingReplicaFallsBackToPrimary() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(routing(replica));
+
+        lagMonitor.update(30);
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("primary", read(jdbcTemplate, true));
+
+        lagMonitor.update(1);
+        assertEquals("replica", read(jdbcTemplate, true));
+    }
+
+    @Test
+    void testUnreachableReplicaFallsBackToPrimary() throws SQLException {
+        DataSource unreachable = mock(DataSource.class);
+        when(unreachable.getConnection()).thenThrow(new SQLException("Connection refused"));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(routing(unreachable));
+
+        assertEquals("primary", read(jdbcTemplate, true));
+        assertFalse(lagMonitor.isReplicaUsable());
+    }
+
+    private DataSource routing(DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, lagMonitor));
+    }
+
+    private static String read(JdbcTemplate jdbcTemplate, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM origin", String.class));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE origin (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO origin (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
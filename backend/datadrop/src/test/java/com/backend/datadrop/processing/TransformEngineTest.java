@@ -0,0 +1,89 @@
+package com.backend.datadrop.processing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransformEngineTest {
+
+    private static final String CSV = """
+            region,product,amount,note
+            east,apple,10,"fresh, crisp"
+            west,pear,oops,
+            east,pear,5,"multi
+            line"
+            west,apple,7,"say ""hi""\"
+            """;
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+    private final TransformEngine engine = new TransformEngine(pool, 2);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testFilterCoerceAndProjectCsv() throws IOException {
+        TransformSpec spec = new TransformSpec(null, null, List.of("product", "amount", "note"),
+                List.of(new TransformSpec.Filter("amount", "gte", 7)),
+                Map.of("amount", "int"), null, null, 1);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TransformStats stats = engine.run(csvReader(), new CsvRecordWriter(out, spec.select()), spec);
+
+        assertEquals("""
+                product,amount,note
+                apple,10,"fresh, crisp"
+                apple,7,"say ""hi"\""
+                """, out.toString(StandardCharsets.UTF_8));
+        assertEquals(4, stats.recordsRead());
+        assertEquals(2, stats.recordsWritten());
+        assertEquals(1, stats.coercionErrors());
+        assertEquals(4, stats.chunks());
+    }
+
+    @Test
+    void testAggregationAcrossChunksToJson() throws IOException {
+        TransformSpec spec = new TransformSpec(null, "json", null, null, Map.of("amount", "long"),
+                List.of("region"),
+                List.of(new TransformSpec.Aggregate("count", "*", null),
+                        new TransformSpec.Aggregate("sum", "amount", "total")),
+                1);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        engine.run(csvReader(), new JsonRecordWriter(out, objectMapper), spec);
+
+        assertEquals("[{\"region\":\"east\",\"count\":2,\"total\":15},{\"region\":\"west\",\"count\":2,\"total\":7}]",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testJsonArrayAndNdjsonInput() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        TransformSpec spec = new TransformSpec(null, null, List.of("id"), null, null, null, null, null);
+
+        for (String json : List.of("[{\"id\":1,\"x\":true},{\"id\":2}]", "{\"id\":1}\n{\"id\":2}\n")) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            RecordReader reader = new JsonRecordReader(
+                    new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), objectMapper);
+            engine.run(reader, new JsonRecordWriter(out, objectMapper), spec);
+            assertEquals("[{\"id\":1},{\"id\":2}]", out.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static CsvRecordReader csvReader() throws IOException {
+        return new CsvRecordReader(new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,69 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.dto.FileUploadStatus;
+import com.backend.datadrop.dto.RecordedUpload;
+import com.backend.datadrop.dto.UploadResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BatchUploadServiceTest {
+
+    private UploadService uploadService;
+    private BatchUploadService batchUploadService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        uploadService = mock(UploadService.class);
+        when(uploadService.upload(anyString(), any(InputStream.class), any())).thenAnswer(invocation -> {
+            String key = invocation.getArgument(0);
+            return new UploadResult(key, key, 2, 2, "identity", null, "hash", false);
+        });
+        FileCatalogService fileCatalogService = mock(FileCatalogService.class);
+        when(fileCatalogService.recordAndEnqueue(any(), any(), any())).thenReturn(new RecordedUpload(null, null));
+        UrlService urlService = mock(UrlService.class);
+        when(urlService.isFileTypeAllowed("csv")).thenReturn(true);
+
+        batchUploadService = new BatchUploadService(uploadService, fileCatalogService, urlService, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchUploadService.shutdown();
+    }
+
+    @Test
+    void testRepeatedNamesInOneBatchGetTheirOwnKeys() {
+        List<FileUploadStatus> results = batchUploadService.uploadAll(
+                List.of(file("a.csv"), file("a.csv"), file("b.csv")), "owner");
+
+        assertTrue(results.stream().allMatch(FileUploadStatus::uploaded));
+        assertEquals("a.csv", results.get(0).key());
+        assertTrue(results.get(1).key().matches("a-[0-9a-f]{8}\\.csv"));
+        assertEquals("b.csv", results.get(2).key());
+        assertEquals("a.csv", results.get(1).file());
+    }
+
+    @Test
+    void testDisallowedTypeIsRejectedWithoutUpload() throws IOException {
+        List<FileUploadStatus> results = batchUploadService.uploadAll(List.of(file("a.exe")), "owner");
+
+        assertFalse(results.get(0).uploaded());
+        assertEquals("Invalid file type: exe", results.get(0).error());
+        verify(uploadService, never()).upload(anyString(), any(InputStream.class), any());
+    }
+
+    private static MockMultipartFile file(String name) {
+        return new MockMultipartFile("files", name, "text/csv", "id".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,140 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.dto.ChangeEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventStreamServiceTest {
+
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final CountDownLatch sendAllowed = new CountDownLatch(1);
+    private EventStreamService service;
+
+    @AfterEach
+    void tearDown() {
+        sendAllowed.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void testReconnectReplaysMissedEvents() throws Exception {
+        service = service(1000, 256, false);
+        publish(5);
+
+        RecordingEmitter emitter = subscribe(2L);
+
+        assertEquals(List.of("3", "4", "5"), emitter.awaitIds(3));
+        assertEquals(1, service.getSubscriberCount());
+    }
+
+    @Test
+    void testSlowSubscriberIsDropped() throws Exception {
+        service = service(1000, 2, true);
+        RecordingEmitter emitter = subscribe(null);
+
+        // The first event blocks in send(), so the rest pile up in the queue
+        publish(5);
+
+        assertTrue(emitter.completed);
+        assertEquals(0, service.getSubscriberCount());
+    }
+
+    @Test
+    void testGapOverQueueLimitGetsReset() throws Exception {
+        service = service(1000, 2, false);
+        publish(10);
+
+        RecordingEmitter emitter = subscribe(1L);
+
+        assertEquals(List.of("10"), emitter.awaitIds(1));
+        assertTrue(emitter.sent.get(0).contains("event:" + EventStreamService.RESET));
+        assertFalse(emitter.completed);
+        assertEquals(1, service.getSubscriberCount());
+    }
+
+    @Test
+    void testEventsNoLongerRetainedGetReset() throws Exception {
+        service = service(3, 256, false);
+        publish(10);
+
+        RecordingEmitter emitter = subscribe(2L);
+
+        assertEquals(List.of("10"), emitter.awaitIds(1));
+        assertTrue(emitter.sent.get(0).contains("event:" + EventStreamService.RESET));
+    }
+
+    private EventStreamService service(int replaySize, int maxQueued, boolean blockSends) {
+        return new EventStreamService(replaySize, maxQueued, Duration.ofMinutes(1)) {
+            @Override
+            SseEmitter newEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter(blockSends ? sendAllowed : null);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private void publish(int count) {
+        for (int i = 0; i < count; i++) {
+            service.onChange(new ChangeEvent(ChangeEvent.FILE_UPLOADED, Map.of("n", i)));
+        }
+    }
+
+    private RecordingEmitter subscribe(Long lastEventId) {
+        assertSame(service.subscribe(lastEventId), emitters.get(emitters.size() - 1));
+        return emitters.get(emitters.size() - 1);
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch sendAllowed;
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private volatile boolean completed;
+
+        RecordingEmitter(CountDownLatch sendAllowed) {
+            this.sendAllowed = sendAllowed;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (sendAllowed != null) {
+                try {
+                    sendAllowed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            sent.add(builder.build().stream()
+                    .map(data -> data.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        List<String> awaitIds(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (sent.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            return sent.stream()
+                    .map(event -> event.substring(event.indexOf("id:") + 3, event.indexOf('\n', event.indexOf("id:"))))
+                    .toList();
+        }
+    }
+}
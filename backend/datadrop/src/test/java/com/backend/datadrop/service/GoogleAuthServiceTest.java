@@ -0,0 +1,76 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.dao.UserDao;
+import com.backend.datadrop.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class GoogleAuthServiceTest {
+
+    private UserDao userDao;
+    private TokenService tokenService;
+    private final AtomicInteger ids = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        userDao = mock(UserDao.class);
+        tokenService = mock(TokenService.class);
+        when(userDao.upsert(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            user.setId(ids.incrementAndGet());
+            return user;
+        });
+    }
+
+    @Test
+    void testReturningUserIsServedFromCache() {
+        GoogleAuthService service = new GoogleAuthService(userDao, tokenService, 10, Duration.ofMinutes(5));
+
+        User first = service.saveOrUpdateUser("g1", "Alice", "alice@example.com", "a1", "r1", 3600);
+        User second = service.saveOrUpdateUser("g1", "Alice", "alice@example.com", "a2", null, 3600);
+
+        assertSame(first, second);
+        verify(userDao, times(1)).upsert(any(User.class));
+        verify(tokenService).store(first.getId(), "a2", null, 3600);
+    }
+
+    @Test
+    void testUnknownOrChangedUserIsWritten() {
+        GoogleAuthService service = new GoogleAuthService(userDao, tokenService, 10, Duration.ofMinutes(5));
+
+        service.saveOrUpdateUser("g1", "Alice", "alice@example.com", "a1", null, 3600);
+        service.saveOrUpdateUser("g2", "Bob", "bob@example.com", "b1", null, 3600);
+        User renamed = service.saveOrUpdateUser("g1", "Alice B.", "alice@example.com", "a2", null, 3600);
+
+        assertEquals("Alice B.", renamed.getName());
+        verify(userDao, times(3)).upsert(any(User.class));
+    }
+
+    @Test
+    void testExpiredEntryIsWrittenAgain() {
+        GoogleAuthService service = new GoogleAuthService(userDao, tokenService, 10, Duration.ZERO);
+
+        service.saveOrUpdateUser("g1", "Alice", "alice@example.com", "a1", null, 3600);
+        service.saveOrUpdateUser("g1", "Alice", "alice@example.com", "a2", null, 3600);
+
+        verify(userDao, times(2)).upsert(any(User.class));
+    }
+
+    @Test
+    void testLeastRecentlyUsedUserIsEvicted() {
+        GoogleAuthService service = new GoogleAuthService(userDao, tokenService, 1, Duration.ofMinutes(5));
+
+        service.saveOrUpdateUser("g1", "Alice", "alice@example.com", "a1", null, 3600);
+        service.saveOrUpdateUser("g2", "Bob", "bob@example.com", "b1", null, 3600);
+        service.saveOrUpdateUser("g1", "Alice", "alice@example.com", "a2", null, 3600);
+
+        verify(userDao, times(3)).upsert(any(User.class));
+    }
+}
@@ -0,0 +1,107 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.dao.JobDao;
+import com.backend.datadrop.dto.ChangeEvent;
+import com.backend.datadrop.dto.JobStatusEvent;
+import com.backend.datadrop.model.Job;
+import com.backend.datadrop.model.JobStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class JobServiceTest {
+
+    private JobDao jobDao;
+    private JobService jobService;
+    private final List<JobStatus> published = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jobDao = mock(JobDao.class);
+        jobService = new JobService(jobDao,
+                event -> published.add(((JobStatusEvent) ((ChangeEvent) event).data()).status()),
+                3, Duration.ofSeconds(10), Duration.ofSeconds(60));
+        when(jobDao.markSucceeded(anyString(), anyList())).thenAnswer(invocation -> invocation.getArgument(1));
+        when(jobDao.markForRetry(anyLong(), anyString(), any(Duration.class), anyString())).thenReturn(true);
+        when(jobDao.markFailed(anyLong(), anyString(), anyString())).thenReturn(true);
+    }
+
+    @Test
+    void testRetryDelayGrowsExponentiallyAndIsCapped() {
+        assertBetween(10_000, 12_000, jobService.retryDelay(1).toMillis());
+        assertBetween(20_000, 24_000, jobService.retryDelay(2).toMillis());
+        assertBetween(40_000, 48_000, jobService.retryDelay(3).toMillis());
+        assertBetween(60_000, 72_000, jobService.retryDelay(10).toMillis());
+    }
+
+    @Test
+    void testRenewLocksSkipsTheDatabaseWhenNothingRuns() {
+        when(jobDao.renewLocks("worker", List.of(1L, 2L))).thenReturn(2);
+
+        assertEquals(0, jobService.renewLocks("worker", List.of()));
+        assertEquals(2, jobService.renewLocks("worker", List.of(1L, 2L)));
+        verify(jobDao, times(1)).renewLocks(anyString(), anyList());
+    }
+
+    @Test
+    void testCompleteRetriesUntilAttemptsAreUsedUp() {
+        Job ok = job(1, 1);
+        Job retry = job(2, 2);
+        Job exhausted = job(3, 3);
+        RuntimeException failure = new RuntimeException("boom");
+
+        jobService.complete(List.of(ok, retry, exhausted), Map.of(2L, failure, 3L, failure));
+
+        verify(jobDao).markSucceeded("worker", List.of(1L));
+        verify(jobDao).markForRetry(eq(2L), eq("worker"), any(Duration.class), eq("RuntimeException: boom"));
+        verify(jobDao).markFailed(3L, "worker", "RuntimeException: boom");
+        verify(jobDao, never()).markForRetry(eq(3L), anyString(), any(), anyString());
+        verify(jobDao, never()).markFailed(eq(2L), anyString(), anyString());
+        verify(jobDao, times(1)).markFailed(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void testOutcomeOfJobWithExpiredLockIsDropped() {
+        when(jobDao.markSucceeded(anyString(), anyList())).thenReturn(List.of());
+
+        jobService.complete(List.of(job(1, 1)), Map.of());
+
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void testStaleJobsArePublishedWithTheirNewStatus() {
+        Job requeued = job(1, 1);
+        requeued.setStatus(JobStatus.PENDING);
+        Job failed = job(2, 3);
+        failed.setStatus(JobStatus.FAILED);
+        when(jobDao.requeueStale(Duration.ofMinutes(5))).thenReturn(List.of(requeued, failed));
+
+        assertEquals(2, jobService.requeueStale(Duration.ofMinutes(5)));
+        assertEquals(List.of(JobStatus.PENDING, JobStatus.FAILED), published);
+    }
+
+    private static Job job(long id, int attempts) {
+        Job job = new Job();
+        job.setId(id);
+        job.setAttempts(attempts);
+        job.setMaxAttempts(3);
+        job.setLockedBy("worker");
+        return job;
+    }
+
+    private static void assertBetween(long min, long max, long actual) {
+        assertTrue(actual >= min && actual <= max, actual + " not in [" + min + ", " + max + "]");
+    }
+}
@@ -0,0 +1,53 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.dao.ResourceVersionDao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ResourceVersionsTest {
+
+    private ResourceVersionDao versionDao;
+
+    @BeforeEach
+    void setUp() {
+        versionDao = mock(ResourceVersionDao.class);
+        when(versionDao.get(ResourceVersions.FILES)).thenReturn(7L);
+    }
+
+    @Test
+    void testVersionIsReadOncePerTtl() {
+        ResourceVersions versions = new ResourceVersions(versionDao, Duration.ofMinutes(1));
+
+        assertEquals("\"7\"", versions.eTag(ResourceVersions.FILES));
+        assertEquals("\"7\"", versions.eTag(ResourceVersions.FILES));
+
+        verify(versionDao, times(1)).get(ResourceVersions.FILES);
+    }
+
+    @Test
+    void testExpiredCopyIsReadAgain() {
+        ResourceVersions versions = new ResourceVersions(versionDao, Duration.ZERO);
+
+        versions.current(ResourceVersions.FILES);
+        versions.current(ResourceVersions.FILES);
+
+        verify(versionDao, times(2)).get(ResourceVersions.FILES);
+    }
+
+    @Test
+    void testLocalWriteIsSeenImmediately() {
+        ResourceVersions versions = new ResourceVersions(versionDao, Duration.ofMinutes(1));
+        assertEquals(7, versions.current(ResourceVersions.FILES));
+
+        when(versionDao.bump(ResourceVersions.FILES)).thenReturn(8L);
+        when(versionDao.get(ResourceVersions.FILES)).thenReturn(8L);
+        assertEquals(8, versions.bump(ResourceVersions.FILES));
+
+        assertEquals(8, versions.current(ResourceVersions.FILES));
+    }
+}
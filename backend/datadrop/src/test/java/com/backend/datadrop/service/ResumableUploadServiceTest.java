@@ -0,0 +1,151 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.dao.UploadSessionDao;
+import com.backend.datadrop.dto.RecordedUpload;
+import com.backend.datadrop.dto.ResumableUploadStatus;
+import com.backend.datadrop.dto.UploadResult;
+import com.backend.datadrop.model.UploadPart;
+import com.backend.datadrop.model.UploadSession;
+import com.backend.datadrop.model.UploadStatus;
+import com.backend.datadrop.storage.LocalStorageBackend;
+import com.backend.datadrop.storage.ObjectContent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ResumableUploadServiceTest {
+
+    private static final int PART_SIZE = 5 * 1024 * 1024;
+
+    @TempDir
+    Path root;
+
+    private UploadSessionDao uploadSessionDao;
+    private FileCatalogService fileCatalogService;
+    private ResumableUploadService resumableUploadService;
+    private final List<UploadPart> parts = new ArrayList<>();
+    private UploadSession session;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        uploadSessionDao = mock(UploadSessionDao.class);
+        fileCatalogService = mock(FileCatalogService.class);
+        when(fileCatalogService.find(anyString())).thenReturn(Optional.empty());
+        when(uploadSessionDao.create(any(UploadSession.class))).thenAnswer(invocation -> {
+            session = invocation.getArgument(0);
+            session.setStatus(UploadStatus.ACTIVE);
+            return session;
+        });
+        when(uploadSessionDao.findById(anyString())).thenAnswer(invocation -> Optional.ofNullable(session));
+        when(uploadSessionDao.updateStatus(anyString(), any(UploadStatus.class), any(UploadStatus.class))).thenReturn(true);
+        when(uploadSessionDao.savePart(any(UploadPart.class))).thenAnswer(invocation -> {
+            UploadPart part = invocation.getArgument(0);
+            parts.removeIf(existing -> existing.getPartNumber() == part.getPartNumber());
+            parts.add(part);
+            parts.sort(Comparator.comparingInt(UploadPart::getPartNumber));
+            return part;
+        });
+        when(uploadSessionDao.findParts(anyString())).thenAnswer(invocation -> List.copyOf(parts));
+
+        resumableUploadService = new ResumableUploadService(uploadSessionDao, new LocalStorageBackend(root.toString()),
+                fileCatalogService, PART_SIZE, Duration.ofHours(1));
+    }
+
+    @Test
+    void testChunksSentOutOfOrderAreJoinedOnComplete() throws IOException {
+        byte[] data = new byte[PART_SIZE + 10];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        ResumableUploadStatus created = resumableUploadService.create("a.bin", "application/octet-stream",
+                (long) data.length, "alice");
+
+        resumableUploadService.putPart(created.uploadId(), PART_SIZE, chunk(data, PART_SIZE, 10), 10);
+        resumableUploadService.putPart(created.uploadId(), 0, chunk(data, 0, PART_SIZE), PART_SIZE);
+        assertEquals(List.of(0L, (long) PART_SIZE), resumableUploadService.status(created.uploadId()).receivedOffsets());
+
+        when(fileCatalogService.recordAndEnqueue(any(UploadResult.class), anyString(), anyString()))
+                .thenReturn(new RecordedUpload(null, 1L));
+        resumableUploadService.complete(created.uploadId());
+
+        ArgumentCaptor<UploadResult> result = ArgumentCaptor.forClass(UploadResult.class);
+        verify(fileCatalogService).recordAndEnqueue(result.capture(), eq("application/octet-stream"), eq("alice"));
+        assertEquals(data.length, result.getValue().size());
+        verify(uploadSessionDao).updateStatus(created.uploadId(), UploadStatus.COMPLETING, UploadStatus.COMPLETED);
+
+        LocalStorageBackend storage = new LocalStorageBackend(root.toString());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectContent content = storage.open("a.bin", 0, -1)) {
+            content.transferTo(out);
+        }
+        assertArrayEquals(data, out.toByteArray());
+    }
+
+    @Test
+    void testReservedNameGetsAUniqueKey() throws IOException {
+        when(fileCatalogService.isKeyTaken("a.bin")).thenReturn(true);
+
+        ResumableUploadStatus created = resumableUploadService.create("a.bin", null, null, null);
+
+        assertNotEquals("a.bin", created.key());
+        assertTrue(created.key().startsWith("a-") && created.key().endsWith(".bin"));
+    }
+
+    @Test
+    void testFailedRecordingDoesNotReopenJoinedUpload() throws IOException {
+        ResumableUploadStatus created = resumableUploadService.create("a.bin", null, 10L, null);
+        resumableUploadService.putPart(created.uploadId(), 0, chunk(new byte[10], 0, 10), 10);
+        when(fileCatalogService.recordAndEnqueue(any(UploadResult.class), any(), any()))
+                .thenThrow(new IllegalStateException("database down"));
+
+        assertThrows(IllegalStateException.class, () -> resumableUploadService.complete(created.uploadId()));
+
+        verify(uploadSessionDao, never()).updateStatus(created.uploadId(), UploadStatus.COMPLETING, UploadStatus.ACTIVE);
+    }
+
+    @Test
+    void testMisalignedChunksAreRejected() throws IOException {
+        ResumableUploadStatus created = resumableUploadService.create("a.bin", null, (long) PART_SIZE * 2, null);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> resumableUploadService.putPart(created.uploadId(), 100, chunk(new byte[10], 0, 10), 10));
+        // A short chunk is only allowed at the end of the upload
+        assertThrows(IllegalArgumentException.class,
+                () -> resumableUploadService.putPart(created.uploadId(), 0, chunk(new byte[10], 0, 10), 10));
+        verify(uploadSessionDao, never()).savePart(any(UploadPart.class));
+    }
+
+    @Test
+    void testMissingChunkKeepsSessionOpen() throws IOException {
+        ResumableUploadStatus created = resumableUploadService.create("a.bin", null, null, null);
+        resumableUploadService.putPart(created.uploadId(), PART_SIZE, chunk(new byte[10], 0, 10), 10);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> resumableUploadService.complete(created.uploadId()));
+
+        assertTrue(e.getMessage().contains("offset 0"));
+        verify(uploadSessionDao).updateStatus(created.uploadId(), UploadStatus.COMPLETING, UploadStatus.ACTIVE);
+        verify(fileCatalogService, never()).recordAndEnqueue(any(), any(), any());
+    }
+
+    private static ByteArrayInputStream chunk(byte[] data, int offset, int length) {
+        return new ByteArrayInputStream(data, offset, length);
+    }
+}
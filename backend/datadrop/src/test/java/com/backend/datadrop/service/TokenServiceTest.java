@@ -0,0 +1,168 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.dao.AccessTokenDao;
+import com.backend.datadrop.metrics.OAuthHttpClient;
+import com.backend.datadrop.model.AccessToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TokenServiceTest {
+
+    private AccessTokenDao accessTokenDao;
+    private OAuthHttpClient httpClient;
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        accessTokenDao = mock(AccessTokenDao.class);
+        httpClient = mock(OAuthHttpClient.class);
+        when(accessTokenDao.save(any(AccessToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        tokenService = new TokenService(accessTokenDao, httpClient, new ObjectMapper(), Duration.ofMinutes(5));
+        tokenService.clientId = "client";
+        tokenService.clientSecret = "secret";
+        tokenService.tokenUri = "https://oauth2.example.com/token";
+    }
+
+    @Test
+    void testStoreRecordsAbsoluteExpiry() {
+        LocalDateTime before = LocalDateTime.now();
+
+        AccessToken token = tokenService.store(1, "access", "refresh", 3600);
+
+        assertEquals(1, token.getUserId());
+        assertEquals("access", token.getAccessToken());
+        assertEquals("refresh", token.getRefreshToken());
+        assertFalse(token.getExpiresAt().isBefore(before.plusSeconds(3600)));
+        verify(accessTokenDao).save(token);
+    }
+
+    @Test
+    void testStoreWithoutExpiryLeavesExpiresAtEmpty() {
+        AccessToken token = tokenService.store(1, "access", null, 0);
+
+        assertNull(token.getExpiresAt());
+    }
+
+    @Test
+    void testStoredTokenIsServedFromMemory() {
+        tokenService.store(1, "access", "refresh", 3600);
+
+        assertEquals(Optional.of("access"), tokenService.getValidToken(1));
+        verify(accessTokenDao, never()).findByUserId(anyInt());
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    void testExpiringTokenIsRefreshed() throws Exception {
+        when(accessTokenDao.findByUserId(1)).thenReturn(Optional.of(token("old", "refresh", LocalDateTime.now().plusMinutes(1))));
+        HttpResponse<String> response = response(200, "{\"access_token\":\"new\",\"expires_in\":3600}");
+        when(httpClient.send(anyString(), any(HttpRequest.class))).thenReturn(response);
+
+        assertEquals(Optional.of("new"), tokenService.getValidToken(1));
+        assertEquals(Optional.of("new"), tokenService.getValidToken(1));
+        verify(httpClient, times(1)).send(eq("refresh"), any(HttpRequest.class));
+        // Google did not rotate the refresh token, so the stored one is kept
+        verify(accessTokenDao).save(argThat(token -> "refresh".equals(token.getRefreshToken())));
+    }
+
+    @Test
+    void testConcurrentCallersShareOneRefresh() throws Exception {
+        when(accessTokenDao.findByUserId(1)).thenReturn(Optional.of(token("old", "refresh", LocalDateTime.now().plusMinutes(1))));
+        HttpResponse<String> response = response(200, "{\"access_token\":\"new\",\"expires_in\":3600}");
+        CountDownLatch refreshing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(httpClient.send(anyString(), any(HttpRequest.class))).thenAnswer(invocation -> {
+            refreshing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return response;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<Optional<String>> first = executor.submit(() -> tokenService.getValidToken(1));
+            assertTrue(refreshing.await(5, TimeUnit.SECONDS));
+            List<Future<Optional<String>>> waiting = List.of(
+                    executor.submit(() -> tokenService.getValidToken(1)),
+                    executor.submit(() -> tokenService.getValidToken(1)));
+            release.countDown();
+
+            assertEquals(Optional.of("new"), first.get(5, TimeUnit.SECONDS));
+            for (Future<Optional<String>> caller : waiting) {
+                assertEquals(Optional.of("new"), caller.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(httpClient, times(1)).send(eq("refresh"), any(HttpRequest.class));
+    }
+
+    @Test
+    void testFailedRefreshKeepsTokenWhileValid() throws Exception {
+        when(accessTokenDao.findByUserId(1)).thenReturn(Optional.of(token("old", "refresh", LocalDateTime.now().plusMinutes(1))));
+        HttpResponse<String> response = response(500, "");
+        when(httpClient.send(anyString(), any(HttpRequest.class))).thenReturn(response);
+
+        assertEquals(Optional.of("old"), tokenService.getValidToken(1));
+    }
+
+    @Test
+    void testExpiredTokenWithoutRefreshTokenIsDropped() {
+        when(accessTokenDao.findByUserId(1)).thenReturn(Optional.of(token("old", null, LocalDateTime.now().minusMinutes(1))));
+
+        assertTrue(tokenService.getValidToken(1).isEmpty());
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    void testExpiredTokensAreEvicted() {
+        when(accessTokenDao.save(any(AccessToken.class))).thenAnswer(invocation -> {
+            AccessToken token = invocation.getArgument(0);
+            token.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+            return token;
+        });
+        tokenService.store(1, "access", null, 3600);
+
+        tokenService.evictExpired();
+
+        assertTrue(tokenService.getValidToken(1).isEmpty());
+        verify(accessTokenDao).findByUserId(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<String> response(int status, String body) {
+        HttpResponse<String> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(status);
+        when(response.body()).thenReturn(body);
+        return response;
+    }
+
+    private static AccessToken token(String accessToken, String refreshToken, LocalDateTime expiresAt) {
+        AccessToken token = new AccessToken();
+        token.setUserId(1);
+        token.setAccessToken(accessToken);
+        token.setRefreshToken(refreshToken);
+        token.setExpiresAt(expiresAt);
+        return token;
+    }
+}
@@ -0,0 +1,124 @@
+package com.backend.datadrop.service;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import com.backend.datadrop.dao.FileDao;
+import com.backend.datadrop.dto.UploadResult;
+import com.backend.datadrop.metrics.UploadMetrics;
+import com.backend.datadrop.model.FileMetadata;
+import com.backend.datadrop.storage.CompressionPolicy;
+import com.backend.datadrop.storage.S3StorageBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UploadServiceTest {
+
+    private AmazonS3 s3client;
+    private FileDao fileDao;
+    private UploadMetrics uploadMetrics;
+    private UploadService uploadService;
+
+    @BeforeEach
+    void setUp() {
+        s3client = mock(AmazonS3.class);
+        fileDao = mock(FileDao.class);
+        when(fileDao.findByContentHash(anyString())).thenReturn(Optional.empty());
+        when(fileDao.reserveKey(anyString(), any())).thenReturn(true);
+        when(s3client.putObject(any(PutObjectRequest.class))).thenReturn(new PutObjectResult());
+        uploadMetrics = new UploadMetrics(new SimpleMeterRegistry());
+
+        uploadService = new UploadService(new S3StorageBackend(s3client, "bucket", 0, 2), fileDao,
+                new CompressionPolicy("none", "csv"), uploadMetrics, Duration.ofHours(24));
+    }
+
+    @Test
+    void testNewContentIsStoredAndHashed() throws IOException {
+        UploadResult result = uploadService.upload("a.csv", stream("id,name\n"), "text/csv");
+
+        assertEquals("a.csv", result.key());
+        assertEquals("a.csv", result.storageKey());
+        assertEquals(8, result.size());
+        assertEquals(64, result.sha256().length());
+        assertFalse(result.deduplicated());
+        verify(s3client).putObject(any(PutObjectRequest.class));
+    }
+
+    @Test
+    void testDuplicateContentSkipsS3Write() throws IOException {
+        FileMetadata original = new FileMetadata();
+        original.setKey("first.csv");
+        original.setStorageKey("first.csv");
+        when(fileDao.findByContentHash(anyString())).thenReturn(Optional.of(original));
+
+        UploadResult result = uploadService.upload("second.csv", stream("id,name\n"), "text/csv");
+
+        assertTrue(result.deduplicated());
+        assertEquals("second.csv", result.key());
+        assertEquals("first.csv", result.storageKey());
+        verifyNoInteractions(s3client);
+    }
+
+    @Test
+    void testTakenNameIsNotOverwritten() throws IOException {
+        // Also what a concurrent upload of the same new name sees once the first one holds the key
+        when(fileDao.reserveKey(eq("a.csv"), any())).thenReturn(false);
+
+        UploadResult result = uploadService.upload("a.csv", stream("other"), "text/csv");
+
+        ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3client).putObject(request.capture());
+        assertNotEquals("a.csv", request.getValue().getKey());
+        assertTrue(request.getValue().getKey().matches("a-[0-9a-f]{8}\\.csv"));
+        assertEquals(request.getValue().getKey(), result.key());
+        verify(fileDao).reserveKey(eq(result.key()), any());
+    }
+
+    @Test
+    void testFailedUploadReleasesReservedKey() {
+        when(s3client.putObject(any(PutObjectRequest.class))).thenThrow(new RuntimeException("S3 down"));
+
+        assertThrows(IOException.class, () -> uploadService.upload("a.csv", stream("id,name\n"), "text/csv"));
+
+        verify(fileDao).releaseKey("a.csv");
+    }
+
+    @Test
+    void testCompressedUploadReportsOriginalAndStoredSizes() throws IOException {
+        uploadService = new UploadService(new S3StorageBackend(s3client, "bucket", 0, 2), fileDao,
+                new CompressionPolicy("gzip", "csv"), uploadMetrics, Duration.ofHours(24));
+        String content = "id,name\n".repeat(1000);
+
+        UploadResult result = uploadService.upload("a.csv", stream(content), "text/csv");
+
+        ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3client).putObject(request.capture());
+        assertEquals("gzip", request.getValue().getMetadata().getContentEncoding());
+        assertEquals("gzip", result.codec());
+        assertEquals(content.length(), result.size());
+        assertTrue(result.storedSize() < result.size());
+        try (InputStream in = new GZIPInputStream(request.getValue().getInputStream())) {
+            assertEquals(content, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,69 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.model.Url;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlRuleMatcherTest {
+
+    @Test
+    void testTrailingWildcardMatchesAnyPath() {
+        Url rule = rule("https://example.com/*");
+        UrlRuleMatcher matcher = new UrlRuleMatcher(List.of(rule));
+
+        assertEquals(List.of(rule), matcher.match("https://example.com/reports/2024/sales.csv"));
+        assertEquals(List.of(rule), matcher.match("https://example.com"));
+        assertTrue(matcher.match("http://example.com/a.csv").isEmpty());
+        assertTrue(matcher.match("https://www.example.com/a.csv").isEmpty());
+    }
+
+    @Test
+    void testSubdomainWildcard() {
+        Url rule = rule("*://*.example.com/exports/*");
+        UrlRuleMatcher matcher = new UrlRuleMatcher(List.of(rule));
+
+        assertEquals(List.of(rule), matcher.match("http://data.eu.example.com/exports/a.json"));
+        assertEquals(List.of(rule), matcher.match("https://example.com/exports/a.json"));
+        assertTrue(matcher.match("https://example.com/imports/a.json").isEmpty());
+        assertTrue(matcher.match("https://notexample.com/exports/a.json").isEmpty());
+    }
+
+    @Test
+    void testSegmentWildcardsAndGlobs() {
+        Url oneSegment = rule("https://example.com/*/daily");
+        Url glob = rule("https://example.com/files/report-*.csv");
+        UrlRuleMatcher matcher = new UrlRuleMatcher(List.of(oneSegment, glob));
+
+        assertEquals(List.of(oneSegment), matcher.match("https://example.com/2024/daily?x=1"));
+        assertTrue(matcher.match("https://example.com/2024/01/daily").isEmpty());
+        assertEquals(List.of(glob), matcher.match("https://example.com/files/report-march.csv"));
+        assertTrue(matcher.match("https://example.com/files/report-march.json").isEmpty());
+    }
+
+    @Test
+    void testRulesAddedLaterAreMatchedAndPortsIgnored() {
+        UrlRuleMatcher matcher = new UrlRuleMatcher();
+        assertTrue(matcher.match("https://example.com:8443/a.csv").isEmpty());
+
+        Url rule = rule("example.com");
+        matcher.add(rule);
+
+        assertEquals(List.of(rule), matcher.match("https://example.com:8443/a.csv"));
+    }
+
+    @Test
+    void testRejectsRelativeUrl() {
+        UrlRuleMatcher matcher = new UrlRuleMatcher();
+        assertThrows(IllegalArgumentException.class, () -> matcher.match("/relative/path"));
+    }
+
+    private static Url rule(String pattern) {
+        Url url = new Url();
+        url.setBaseUrl(pattern);
+        url.setFile_type("csv");
+        return url;
+    }
+}
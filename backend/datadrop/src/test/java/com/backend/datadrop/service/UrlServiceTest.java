@@ -0,0 +1,251 @@
+package com.backend.datadrop.service;
+
+import com.backend.datadrop.dao.ResourceVersionDao;
+import com.backend.datadrop.dao.UrlDao;
+import com.backend.datadrop.dto.UrlPage;
+import com.backend.datadrop.model.Url;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlServiceTest {
+
+    private StubUrlDao urlDao;
+    private ResourceVersions versions;
+    private UrlService urlService;
+
+    @BeforeEach
+    void setUp() {
+        urlDao = new StubUrlDao();
+        urlDao.saveUrl(url("https://example.com/*", "CSV"));
+        versions = new ResourceVersions(new StubResourceVersionDao(), Duration.ZERO);
+        urlService = new UrlService(urlDao, versions, event -> { }, 100);
+    }
+
+    @Test
+    void testFileTypeLookupIsCaseInsensitive() {
+        assertTrue(urlService.isFileTypeAllowed("csv"));
+        assertTrue(urlService.isFileTypeAllowed("Csv"));
+        assertFalse(urlService.isFileTypeAllowed("json"));
+        assertFalse(urlService.isFileTypeAllowed(null));
+    }
+
+    @Test
+    void testRulesAreLoadedOnce() {
+        urlService.isFileTypeAllowed("csv");
+        urlService.isFileTypeAllowed("json");
+        urlService.getAll();
+
+        assertEquals(1, urlDao.loads);
+        assertEquals(1, urlService.getCacheMisses());
+        assertEquals(2, urlService.getCacheHits());
+    }
+
+    @Test
+    void testSaveUpdatesCachedIndex() {
+        assertFalse(urlService.isFileTypeAllowed("json"));
+
+        urlService.save(url("https://data.example.org/*", "json"));
+
+        assertTrue(urlService.isFileTypeAllowed("JSON"));
+        assertEquals(2, urlService.getAll().size());
+        assertEquals(1, urlDao.loads);
+    }
+
+    @Test
+    void testVersionTagChangesOnWrite() {
+        String before = urlService.getVersionTag();
+        assertEquals(before, urlService.getVersionTag());
+
+        urlService.save(url("https://data.example.org/*", "json"));
+
+        assertNotEquals(before, urlService.getVersionTag());
+    }
+
+    @Test
+    void testVersionTagIsSharedBetweenInstances() {
+        UrlService other = new UrlService(urlDao, versions, event -> { }, 100);
+        assertEquals(urlService.getVersionTag(), other.getVersionTag());
+
+        other.save(url("https://data.example.org/*", "json"));
+
+        assertEquals(other.getVersionTag(), urlService.getVersionTag());
+    }
+
+    @Test
+    void testRuleListIsReloadedAfterWritesElsewhere() {
+        urlService.getAll();
+        UrlService other = new UrlService(urlDao, versions, event -> { }, 100);
+
+        other.save(url("https://data.example.org/*", "json"));
+        String eTag = urlService.getVersionTag();
+
+        assertEquals(2, urlService.getAll().size());
+        assertEquals(eTag, urlService.getVersionTag());
+        assertEquals(2, urlDao.loads);
+    }
+
+    @Test
+    void testFileTypesAddedElsewhereAreAllowed() {
+        assertFalse(urlService.isFileTypeAllowed("json"));
+        UrlService other = new UrlService(urlDao, versions, event -> { }, 100);
+
+        other.save(url("https://data.example.org/*", "json"));
+
+        assertTrue(urlService.isFileTypeAllowed("json"));
+        assertEquals(1, urlService.match("https://data.example.org/report.json").size());
+    }
+
+    @Test
+    void testSavingAnExistingRuleKeepsIndexUnique() {
+        urlService.getAll();
+
+        urlService.save(url("https://example.com/*", "CSV"));
+
+        assertEquals(1, urlService.getAll().size());
+    }
+
+    @Test
+    void testSaveAllInsertsNewRulesAndReloads() {
+        urlService.getAll();
+
+        int inserted = urlService.saveAll(List.of(url("https://example.com/*", "CSV"), url("https://a.example.com/*", "xml")));
+
+        assertEquals(1, inserted);
+        assertTrue(urlService.isFileTypeAllowed("xml"));
+        assertEquals(2, urlDao.loads);
+    }
+
+    @Test
+    void testImportIsPickedUpOnceCommitted() {
+        urlService.getAll();
+        urlDao.holdWrites = true;
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            urlService.saveAll(List.of(url("https://a.example.com/*", "xml")));
+            // Another request looks the type up while the import is still open
+            assertFalse(urlService.isFileTypeAllowed("xml"));
+
+            urlDao.commit();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(urlService.isFileTypeAllowed("xml"));
+    }
+
+    @Test
+    void testPagesAreChainedByLastId() {
+        urlDao.saveUrl(url("https://b.example.com/*", "csv"));
+        urlDao.saveUrl(url("https://c.example.com/*", "json"));
+
+        UrlPage first = urlService.getPage(null, 1, "CSV", null);
+        UrlPage second = urlService.getPage(first.nextAfterId(), 1, "CSV", null);
+
+        assertTrue(first.truncated());
+        assertEquals(1, first.urls().get(0).getId());
+        assertFalse(second.truncated());
+        assertEquals(2, second.urls().get(0).getId());
+        assertNull(second.nextAfterId());
+    }
+
+    @Test
+    void testInvalidateReloadsFromDao() {
+        urlService.isFileTypeAllowed("csv");
+        urlService.invalidate();
+        urlService.isFileTypeAllowed("csv");
+
+        assertEquals(2, urlDao.loads);
+    }
+
+    private static Url url(String baseUrl, String fileType) {
+        Url url = new Url();
+        url.setBaseUrl(baseUrl);
+        url.setFile_type(fileType);
+        return url;
+    }
+
+    private static class StubUrlDao implements UrlDao {
+        private final List<Url> urls = new ArrayList<>();
+        private int loads;
+        // Keeps batch inserts invisible until commit(), like an open transaction
+        private boolean holdWrites;
+        private final List<Url> uncommitted = new ArrayList<>();
+
+        @Override
+        public List<Url> getAllUrls() {
+            loads++;
+            return new ArrayList<>(urls);
+        }
+
+        void commit() {
+            urls.addAll(uncommitted);
+            uncommitted.clear();
+        }
+
+        @Override
+        public Url getUrlById(long id) {
+            return urls.stream().filter(u -> u.getId() == id).findFirst().orElse(null);
+        }
+
+        @Override
+        public List<Url> findPage(Long afterId, int limit, String fileType, String hostPrefix) {
+            return urls.stream()
+                    .filter(u -> afterId == null || u.getId() > afterId)
+                    .filter(u -> fileType == null || fileType.equalsIgnoreCase(u.getFile_type()))
+                    .limit(limit)
+                    .toList();
+        }
+
+        @Override
+        public Url saveUrl(Url url) {
+            for (Url existing : urls) {
+                if (existing.getBaseUrl().equals(url.getBaseUrl()) && Objects.equals(existing.getFile_type(), url.getFile_type())) {
+                    url.setId(existing.getId());
+                    return url;
+                }
+            }
+            url.setId(urls.size() + 1);
+            urls.add(url);
+            return url;
+        }
+
+        @Override
+        public int saveAll(Collection<Url> batch, int batchSize) {
+            if (holdWrites) {
+                uncommitted.addAll(batch);
+                return batch.size();
+            }
+            int before = urls.size();
+            batch.forEach(this::saveUrl);
+            return urls.size() - before;
+        }
+    }
+
+    private static class StubResourceVersionDao implements ResourceVersionDao {
+        private final Map<String, Long> versions = new HashMap<>();
+
+        @Override
+        public long get(String resource) {
+            return versions.getOrDefault(resource, 0L);
+        }
+
+        @Override
+        public long bump(String resource) {
+            return versions.merge(resource, 1L, Long::sum);
+        }
+    }
+}
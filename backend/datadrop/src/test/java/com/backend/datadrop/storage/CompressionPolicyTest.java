@@ -0,0 +1,30 @@
+package com.backend.datadrop.storage;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressionPolicyTest {
+
+    @Test
+    void testListedTextTypesGetTheCodec() {
+        CompressionPolicy policy = new CompressionPolicy("zstd", "csv, JSON");
+
+        assertEquals(StorageCodec.ZSTD, policy.codecFor("data/a.csv"));
+        assertEquals(StorageCodec.ZSTD, policy.codecFor("b.Json"));
+    }
+
+    @Test
+    void testOtherKeysAreStoredAsIs() {
+        CompressionPolicy policy = new CompressionPolicy("gzip", "csv");
+
+        assertEquals(StorageCodec.IDENTITY, policy.codecFor("a.parquet"));
+        assertEquals(StorageCodec.IDENTITY, policy.codecFor("README"));
+        assertEquals(StorageCodec.IDENTITY, policy.codecFor(null));
+    }
+
+    @Test
+    void testNoCodecDisablesCompression() {
+        assertEquals(StorageCodec.IDENTITY, new CompressionPolicy("none", "csv").codecFor("a.csv"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.backend.datadrop.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalStorageBackendTest {
+
+    @TempDir
+    Path root;
+
+    private LocalStorageBackend storage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storage = new LocalStorageBackend(root.toString());
+    }
+
+    @Test
+    void testWriterCommitsOnCloseWithMetadata() throws IOException {
+        ObjectWriter out = storage.openWriter("data/a.csv", "text/csv", "gzip");
+        out.write(bytes("id,name\n"));
+        assertThrows(ObjectNotFoundException.class, () -> storage.stat("data/a.csv"));
+
+        out.close();
+
+        ObjectInfo info = storage.stat("data/a.csv");
+        assertEquals(8, info.size());
+        assertEquals("text/csv", info.contentType());
+        assertEquals("gzip", info.contentEncoding());
+        assertEquals(info.eTag(), out.getETag());
+    }
+
+    @Test
+    void testAbortedWriterLeavesNothingBehind() throws IOException {
+        ObjectWriter out = storage.openWriter("a.csv", "text/csv", null);
+        out.write(bytes("id,name\n"));
+        out.abort();
+
+        assertThrows(ObjectNotFoundException.class, () -> storage.stat("a.csv"));
+        try (Stream<ObjectInfo> objects = storage.list(null)) {
+            assertEquals(0, objects.count());
+        }
+    }
+
+    @Test
+    void testRangeReadsAreMapped() throws IOException {
+        storage.put("a.txt", new ByteArrayInputStream(bytes("0123456789")), "text/plain");
+
+        try (ObjectContent content = storage.open("a.txt", 2, 5); InputStream in = content.stream()) {
+            assertEquals(2, content.start());
+            assertEquals(4, content.length());
+            assertEquals("2345", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectContent content = storage.open("a.txt", 0, -1)) {
+            assertEquals(10, content.transferTo(out));
+            assertEquals(root.resolve("a.txt"), content.localPath().orElseThrow());
+        }
+        assertEquals("0123456789", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testListSkipsBookkeepingAndFiltersByPrefix() throws IOException {
+        storage.put("data/a.csv", new ByteArrayInputStream(bytes("a")), "text/csv");
+        storage.put("data/b.csv", new ByteArrayInputStream(bytes("b")), "text/csv");
+        storage.put("other/c.csv", new ByteArrayInputStream(bytes("c")), null);
+
+        try (Stream<ObjectInfo> objects = storage.list("data/")) {
+            assertEquals(List.of("data/a.csv", "data/b.csv"), objects.map(ObjectInfo::key).sorted().toList());
+        }
+        try (Stream<ObjectInfo> objects = storage.list(null)) {
+            assertEquals(3, objects.count());
+        }
+
+        storage.delete("data/a.csv");
+        assertThrows(ObjectNotFoundException.class, () -> storage.stat("data/a.csv"));
+        assertFalse(Files.exists(root.resolve(".meta/data/a.csv")));
+    }
+
+    @Test
+    void testKeysCannotEscapeTheRoot() {
+        assertThrows(IllegalArgumentException.class, () -> storage.stat("../outside.csv"));
+        assertThrows(IllegalArgumentException.class, () -> storage.stat("/etc/passwd"));
+        assertThrows(IllegalArgumentException.class, () -> storage.stat("a/../b.csv"));
+        assertThrows(IllegalArgumentException.class, () -> storage.stat(".meta/a.csv"));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
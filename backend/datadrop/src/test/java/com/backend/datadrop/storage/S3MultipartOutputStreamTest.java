@@ -0,0 +1,80 @@
+package com.backend.datadrop.storage;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class S3MultipartOutputStreamTest {
+
+    private AmazonS3 s3client;
+    private BufferPool bufferPool;
+
+    @BeforeEach
+    void setUp() {
+        s3client = mock(AmazonS3.class);
+        bufferPool = new BufferPool(4, 1);
+
+        PutObjectResult putResult = new PutObjectResult();
+        putResult.setETag("single");
+        when(s3client.putObject(any(PutObjectRequest.class))).thenReturn(putResult);
+
+        InitiateMultipartUploadResult initResult = new InitiateMultipartUploadResult();
+        initResult.setUploadId("upload-1");
+        when(s3client.initiateMultipartUpload(any())).thenReturn(initResult);
+
+        when(s3client.uploadPart(any())).thenAnswer(invocation -> {
+            UploadPartRequest request = invocation.getArgument(0);
+            UploadPartResult result = new UploadPartResult();
+            result.setPartNumber(request.getPartNumber());
+            result.setETag("part-" + request.getPartNumber());
+            return result;
+        });
+
+        CompleteMultipartUploadResult completeResult = new CompleteMultipartUploadResult();
+        completeResult.setETag("multi");
+        when(s3client.completeMultipartUpload(any())).thenReturn(completeResult);
+    }
+
+    @Test
+    void testSmallObjectUsesSinglePut() throws IOException {
+        S3MultipartOutputStream out = new S3MultipartOutputStream(s3client, "bucket", "a.csv", null, bufferPool);
+        out.write(new byte[]{1, 2, 3});
+        out.close();
+
+        assertEquals(3, out.getBytesWritten());
+        assertEquals("single", out.getETag());
+        verify(s3client, never()).initiateMultipartUpload(any());
+        assertEquals(1, bufferPool.getAvailable());
+    }
+
+    @Test
+    void testLargeObjectIsSplitIntoParts() throws IOException {
+        S3MultipartOutputStream out = new S3MultipartOutputStream(s3client, "bucket", "a.csv", null, bufferPool);
+        out.write(new byte[10]);
+        out.close();
+
+        assertEquals(10, out.getBytesWritten());
+        assertEquals("multi", out.getETag());
+        verify(s3client, times(3)).uploadPart(any());
+        verify(s3client, never()).putObject(any(PutObjectRequest.class));
+        assertEquals(1, bufferPool.getAvailable());
+    }
+
+    @Test
+    void testAbortDiscardsStartedUpload() throws IOException {
+        S3MultipartOutputStream out = new S3MultipartOutputStream(s3client, "bucket", "a.csv", null, bufferPool);
+        out.write(new byte[6]);
+        out.abort();
+
+        verify(s3client).abortMultipartUpload(any());
+        verify(s3client, never()).completeMultipartUpload(any());
+        assertThrows(IOException.class, () -> out.write(1));
+    }
+}
@@ -0,0 +1,66 @@
+package com.backend.datadrop.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StorageCodecTest {
+
+    @ParameterizedTest
+    @EnumSource(StorageCodec.class)
+    void testRoundTrip(StorageCodec codec) throws IOException {
+        byte[] content = "id,name\n1,alice\n".repeat(1000).getBytes(StandardCharsets.UTF_8);
+
+        byte[] encoded = encode(codec, content);
+
+        if (codec != StorageCodec.IDENTITY) {
+            assertTrue(encoded.length < content.length);
+        }
+        try (InputStream in = codec.decode(new ByteArrayInputStream(encoded))) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageCodec.class)
+    void testEmptyBodyRoundTrips(StorageCodec codec) throws IOException {
+        byte[] encoded = encode(codec, new byte[0]);
+
+        try (InputStream in = codec.decode(new ByteArrayInputStream(encoded))) {
+            assertEquals(0, in.readAllBytes().length);
+        }
+    }
+
+    @Test
+    void testFromName() {
+        assertEquals(StorageCodec.IDENTITY, StorageCodec.fromName(null));
+        assertEquals(StorageCodec.IDENTITY, StorageCodec.fromName("none"));
+        assertEquals(StorageCodec.GZIP, StorageCodec.fromName(" GZIP "));
+        assertEquals(StorageCodec.ZSTD, StorageCodec.fromName("zstd"));
+        assertThrows(IllegalArgumentException.class, () -> StorageCodec.fromName("brotli"));
+    }
+
+    @Test
+    void testUnknownContentEncodingPassesThrough() {
+        assertEquals(StorageCodec.GZIP, StorageCodec.fromContentEncoding("gzip"));
+        assertEquals(StorageCodec.IDENTITY, StorageCodec.fromContentEncoding("br"));
+        assertEquals(StorageCodec.IDENTITY, StorageCodec.fromContentEncoding(null));
+    }
+
+    private static byte[] encode(StorageCodec codec, byte[] content) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (OutputStream out = codec.encode(buffer)) {
+            out.write(content);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -1,5 +1,10 @@
 const API_BASE = 'http://localhost:8080/api/v1';
 
+// Files above this size are sent in chunks that can be retried on their own
+const CHUNKED_UPLOAD_THRESHOLD = 16 * 1024 * 1024;
+const CHUNK_UPLOADS_IN_PARALLEL = 3;
+const CHUNK_RETRIES = 3;
+
 // Tab switching
 function showTab(tabName) {
   // Hide all tabs
@@ -67,6 +72,71 @@ function clearRecentDownloads() {
   });
 }
 
+// Upload a blob, in resumable chunks when it is large. Resolves to the response of the
+// last request, so callers can check it like a single upload.
+async function uploadBlob(blob, filename) {
+  if (blob.size <= CHUNKED_UPLOAD_THRESHOLD) {
+    const formData = new FormData();
+    formData.append('file', blob, filename);
+    return fetch(`${API_BASE}/files/upload`, {
+      method: 'POST',
+      body: formData
+    });
+  }
+
+  const createResponse = await fetch(`${API_BASE}/files/uploads`, {
+    method: 'POST',
+    headers: { 'Content-Type': 'application/json' },
+    body: JSON.stringify({ filename, contentType: blob.type || null, size: blob.size })
+  });
+  if (!createResponse.ok) {
+    return createResponse;
+  }
+  const session = await createResponse.json();
+  const uploadUrl = `${API_BASE}/files/uploads/${session.uploadId}`;
+
+  const offsets = [];
+  for (let offset = 0; offset < blob.size; offset += session.partSize) {
+    offsets.push(offset);
+  }
+  let sent = 0;
+  let failed = null;
+
+  const sendChunk = async (offset) => {
+    const chunk = blob.slice(offset, Math.min(offset + session.partSize, blob.size));
+    for (let attempt = 1; ; attempt++) {
+      const response = await fetch(`${uploadUrl}?offset=${offset}`, { method: 'PUT', body: chunk })
+        .catch(() => null);
+      if (response && response.ok) {
+        sent += chunk.size;
+        showStatus(`Uploading to backend... ${Math.floor(sent * 100 / blob.size)}%`, false);
+        return;
+      }
+      // Client errors will not go away by retrying; busy (429) and server errors may
+      const retryable = !response || response.status === 429 || response.status >= 500;
+      if (!retryable || attempt >= CHUNK_RETRIES) {
+        failed = failed || response;
+        return;
+      }
+      const retryAfter = response ? Number(response.headers.get('Retry-After')) : 0;
+      await new Promise(resolve => setTimeout(resolve, (retryAfter || attempt) * 1000));
+    }
+  };
+
+  const workers = Array.from({ length: CHUNK_UPLOADS_IN_PARALLEL }, async () => {
+    while (offsets.length > 0 && !failed) {
+      await sendChunk(offsets.shift());
+    }
+  });
+  await Promise.all(workers);
+
+  if (failed !== null || sent < blob.size) {
+    await fetch(uploadUrl, { method: 'DELETE' }).catch(() => null);
+    return failed || new Response('Chunk upload failed', { status: 503 });
+  }
+  return fetch(`${uploadUrl}/complete`, { method: 'POST' });
+}
+
 // Upload file to backend
 async function uploadFile(downloadId, filename) {
   showStatus('Starting upload...', false);
@@ -106,16 +176,9 @@ async function uploadFile(downloadId, filename) {
           console.log('Successfully downloaded blob, size:', blob.size);
           
           if (blob.size > 0) {
-            // Create FormData and upload
-            const formData = new FormData();
-            formData.append('file', blob, filename);
-            
             showStatus('Uploading to backend...', false);
             
-            const uploadResponse = await fetch(`${API_BASE}/files/upload`, {
-              method: 'POST',
-              body: formData
-            });
+            const uploadResponse = await uploadBlob(blob, filename);
             
             if (uploadResponse.ok) {
               const result = await uploadResponse.json();
@@ -194,15 +257,9 @@ async function uploadFile(downloadId, filename) {
         const file = await fileHandle.getFile();
         console.log('File selected:', file.name, 'Size:', file.size);
         
-        const formData = new FormData();
-        formData.append('file', file, file.name);
-        
         showStatus('Uploading selected file...', false);
         
-        const uploadResponse = await fetch(`${API_BASE}/files/upload`, {
-          method: 'POST',
-          body: formData
-        });
+        const uploadResponse = await uploadBlob(file, file.name);
         
         if (uploadResponse.ok) {
           const result = await uploadResponse.json();